@@ -0,0 +1,75 @@
+package com.yourorg.arms;
+
+import com.yourorg.arms.bench.BenchmarkData;
+import com.yourorg.arms.bench.Harness;
+import com.yourorg.arms.models.Grade;
+import com.yourorg.arms.models.GradeColumns;
+import com.yourorg.arms.service.GradeViewEngine;
+import com.yourorg.arms.ui.StudentGradesTableModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Student grade list paths: columnar loading, sorting and reading the table model.
+public final class GradeListBenchmarks {
+    private GradeListBenchmarks() {
+    }
+
+    public static void register(Harness h) {
+        h.add("GradeColumns.from", rows -> {
+            List<Grade> grades = BenchmarkData.grades(rows);
+            return () -> GradeColumns.from(grades);
+        });
+
+        h.add("GradeViewEngine.view.byEffectiveGrade", rows -> {
+            GradeColumns cols = GradeColumns.from(BenchmarkData.grades(rows));
+            List<GradeViewEngine.SortKey> sort = Collections.singletonList(new GradeViewEngine.SortKey(GradeViewEngine.Column.EFFECTIVE, true));
+            return () -> GradeViewEngine.view(cols, sort, GradeViewEngine.Filter.NONE);
+        });
+
+        // Baseline: the JDK's TimSort over boxed grades with the same ordering
+        h.add("List<Grade>.sort.byEffectiveGrade", rows -> {
+            List<Grade> grades = BenchmarkData.grades(rows);
+            Comparator<Grade> cmp = Comparator.comparing(Grade::getEffectiveGrade, Comparator.nullsFirst(Comparator.naturalOrder()));
+            return () -> {
+                List<Grade> copy = new ArrayList<>(grades);
+                copy.sort(cmp);
+                return copy;
+            };
+        });
+
+        h.add("GradeViewEngine.view.byCourseCode", rows -> {
+            GradeColumns cols = GradeColumns.from(BenchmarkData.grades(rows));
+            List<GradeViewEngine.SortKey> sort = Collections.singletonList(new GradeViewEngine.SortKey(GradeViewEngine.Column.COURSE_CODE, true));
+            return () -> GradeViewEngine.view(cols, sort, GradeViewEngine.Filter.NONE);
+        });
+
+        // Two keys plus a grade-range filter, as a header shift-click and the filter row would ask for
+        h.add("GradeViewEngine.view.filteredMultiKey", rows -> {
+            GradeColumns cols = GradeColumns.from(BenchmarkData.grades(rows));
+            List<GradeViewEngine.SortKey> sort = Arrays.asList(
+                    new GradeViewEngine.SortKey(GradeViewEngine.Column.REMARKS, true),
+                    new GradeViewEngine.SortKey(GradeViewEngine.Column.FINALS, false));
+            GradeViewEngine.Filter filter = new GradeViewEngine.Filter(null, null, 75.0, null);
+            return () -> GradeViewEngine.view(cols, sort, filter);
+        });
+
+        // Every cell read once, as a full repaint would
+        h.add("StudentGradesTableModel.readAll", rows -> {
+            StudentGradesTableModel model = new StudentGradesTableModel();
+            model.setGrades(GradeColumns.from(BenchmarkData.grades(rows)));
+            return () -> {
+                int acc = 0;
+                for (int r = 0; r < model.getRowCount(); r++) {
+                    for (int c = 0; c < model.getColumnCount(); c++) {
+                        if (model.getValueAt(r, c) != null) acc++;
+                    }
+                }
+                return acc;
+            };
+        });
+    }
+}
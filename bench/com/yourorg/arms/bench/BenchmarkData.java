@@ -0,0 +1,41 @@
+package com.yourorg.arms.bench;
+
+import com.yourorg.arms.models.Grade;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic grades, shaped like a real term: some courses still missing later grades.
+public final class BenchmarkData {
+    private static final long SEED = 20251L;
+
+    private BenchmarkData() {
+    }
+
+    public static List<Grade> grades(int rows) {
+        Random rnd = new Random(SEED);
+        List<Grade> list = new ArrayList<>(rows);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < rows; i++) {
+            Grade g = new Grade();
+            g.setId(i + 1);
+            g.setStudentId(1 + i / 8);
+            g.setStudentName("Student " + (i / 8));
+            g.setCourseCode("CS" + (100 + rnd.nextInt(Math.max(1, rows / 4))));
+            g.setCourseName("Course " + g.getCourseCode());
+            g.setPrelim(grade(rnd, 0.95));
+            g.setMidterm(grade(rnd, 0.8));
+            g.setFinals(grade(rnd, 0.6));
+            g.setRemarks(rnd.nextInt(10) == 0 ? "INC" : "Passed");
+            g.setCreatedAt(new Timestamp(now - rnd.nextInt(180) * 86_400_000L));
+            list.add(g);
+        }
+        return list;
+    }
+
+    private static Double grade(Random rnd, double presentRate) {
+        return rnd.nextDouble() < presentRate ? Math.round((60 + rnd.nextDouble() * 40) * 100) / 100.0 : null;
+    }
+}
@@ -0,0 +1,198 @@
+package com.yourorg.arms.bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal average-time benchmark runner in the spirit of JMH: per case and row count it runs
+ * timed warmup iterations, then measurement iterations, and reports microseconds per operation
+ * with a 99.9% confidence error. Results are written in JMH's JSON layout so existing JMH
+ * comparison tools can diff two runs. All cases run in the current JVM (no forking).
+ */
+public final class Harness {
+    // Builds the operation for one row count; everything outside the returned Callable is setup.
+    public interface Case {
+        Callable<Object> setUp(int rows) throws Exception;
+    }
+
+    private static final double Z_999 = 3.291;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Case> cases = new ArrayList<>();
+    private final List<Result> results = new ArrayList<>();
+    private final Options options;
+    // Results are folded in here so the JIT cannot drop the measured work
+    private static volatile int sink;
+
+    public Harness(Options options) {
+        this.options = options;
+    }
+
+    public void add(String name, Case c) {
+        names.add(name);
+        cases.add(c);
+    }
+
+    public void runAll() throws Exception {
+        for (int i = 0; i < cases.size(); i++) {
+            String name = names.get(i);
+            if (options.filter != null && !options.filter.matcher(name).find()) continue;
+            for (int rows : options.rows) {
+                results.add(run(name, cases.get(i), rows));
+            }
+        }
+    }
+
+    public void writeJson(Path out) throws IOException {
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write("[\n");
+            for (int i = 0; i < results.size(); i++) {
+                results.get(i).writeJson(w, options);
+                w.write(i + 1 < results.size() ? ",\n" : "\n");
+            }
+            w.write("]\n");
+        }
+    }
+
+    private Result run(String name, Case c, int rows) throws Exception {
+        Callable<Object> op = c.setUp(rows);
+        for (int i = 0; i < options.warmupIterations; i++) {
+            iteration(op);
+        }
+        double[] usPerOp = new double[options.iterations];
+        for (int i = 0; i < options.iterations; i++) {
+            usPerOp[i] = iteration(op);
+        }
+        Result r = new Result(name, rows, usPerOp);
+        System.out.println(r);
+        return r;
+    }
+
+    // Runs op until the iteration time has elapsed (at least once) and returns the mean us/op.
+    private double iteration(Callable<Object> op) throws Exception {
+        long budget = options.iterationMillis * 1_000_000L;
+        long start = System.nanoTime();
+        long ops = 0;
+        long elapsed;
+        int acc = 0;
+        do {
+            Object result = op.call();
+            acc += System.identityHashCode(result);
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budget);
+        sink += acc;
+        return elapsed / 1e3 / ops;
+    }
+
+    public static final class Options {
+        int[] rows = {10, 1_000, 100_000};
+        int warmupIterations = 3;
+        int iterations = 5;
+        long iterationMillis = 500;
+        Pattern filter;
+        String out = "bench-results.json";
+
+        // --rows=10,1000 --warmup=3 --iterations=5 --time-ms=500 --filter=regex --out=file.json
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            for (String arg : args) {
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--rows=")) {
+                    String[] parts = value.split(",");
+                    o.rows = new int[parts.length];
+                    for (int i = 0; i < parts.length; i++) o.rows[i] = Integer.parseInt(parts[i].trim());
+                } else if (arg.startsWith("--warmup=")) {
+                    o.warmupIterations = Integer.parseInt(value);
+                } else if (arg.startsWith("--iterations=")) {
+                    o.iterations = Integer.parseInt(value);
+                } else if (arg.startsWith("--time-ms=")) {
+                    o.iterationMillis = Long.parseLong(value);
+                } else if (arg.startsWith("--filter=")) {
+                    o.filter = Pattern.compile(value);
+                } else if (arg.startsWith("--out=")) {
+                    o.out = value;
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return o;
+        }
+
+        public String getOut() {
+            return out;
+        }
+    }
+
+    private static final class Result {
+        final String name;
+        final int rows;
+        final double[] raw;
+        final double score;
+        final double error;
+
+        Result(String name, int rows, double[] raw) {
+            this.name = name;
+            this.rows = rows;
+            this.raw = raw;
+            double sum = 0;
+            for (double v : raw) sum += v;
+            this.score = sum / raw.length;
+            double sq = 0;
+            for (double v : raw) sq += (v - score) * (v - score);
+            this.error = raw.length < 2 ? Double.NaN : Z_999 * Math.sqrt(sq / (raw.length - 1)) / Math.sqrt(raw.length);
+        }
+
+        void writeJson(Writer w, Options o) throws IOException {
+            StringBuilder rawJson = new StringBuilder();
+            for (int i = 0; i < raw.length; i++) {
+                if (i > 0) rawJson.append(", ");
+                rawJson.append(num(raw[i]));
+            }
+            w.write(String.format(Locale.ROOT,
+                    "  {\n" +
+                    "    \"benchmark\": \"%s\",\n" +
+                    "    \"mode\": \"avgt\",\n" +
+                    "    \"threads\": 1,\n" +
+                    "    \"forks\": 0,\n" +
+                    "    \"jvm\": \"%s\",\n" +
+                    "    \"jdkVersion\": \"%s\",\n" +
+                    "    \"warmupIterations\": %d,\n" +
+                    "    \"warmupTime\": \"%d ms\",\n" +
+                    "    \"measurementIterations\": %d,\n" +
+                    "    \"measurementTime\": \"%d ms\",\n" +
+                    "    \"params\": {\"rows\": \"%d\"},\n" +
+                    "    \"primaryMetric\": {\n" +
+                    "      \"score\": %s,\n" +
+                    "      \"scoreError\": %s,\n" +
+                    "      \"scoreUnit\": \"us/op\",\n" +
+                    "      \"rawData\": [[%s]]\n" +
+                    "    }\n" +
+                    "  }",
+                    name, escape(System.getProperty("java.home")), escape(System.getProperty("java.version")),
+                    o.warmupIterations, o.iterationMillis, o.iterations, o.iterationMillis, rows,
+                    num(score), num(error), rawJson));
+        }
+
+        private static String num(double v) {
+            return Double.isNaN(v) ? "\"NaN\"" : String.format(Locale.ROOT, "%.3f", v);
+        }
+
+        private static String escape(String s) {
+            return s == null ? "" : s.replace("\\", "\\\\").replace("\"", "\\\"");
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-55s rows=%-7d %14.3f +- %10.3f us/op", name, rows, score, error);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.yourorg.arms.bench;
+
+import com.yourorg.arms.GradeListBenchmarks;
+import com.yourorg.arms.dao.RowMappingBenchmarks;
+import com.yourorg.arms.service.AggregationBenchmarks;
+
+import java.nio.file.Paths;
+
+/**
+ * Runs every grade-processing benchmark and writes the results as JSON. See bench/run.sh.
+ * Example: java com.yourorg.arms.bench.RunBenchmarks --rows=10,1000 --filter=GradeColumns --out=before.json
+ */
+public final class RunBenchmarks {
+    private RunBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Harness.Options options = Harness.Options.parse(args);
+        Harness h = new Harness(options);
+        GradeListBenchmarks.register(h);
+        AggregationBenchmarks.register(h);
+        RowMappingBenchmarks.register(h);
+        h.runAll();
+        h.writeJson(Paths.get(options.getOut()));
+        System.out.println("Results written to " + options.getOut());
+    }
+}
@@ -0,0 +1,76 @@
+package com.yourorg.arms.dao;
+
+import com.yourorg.arms.CountingResultSet;
+import com.yourorg.arms.SqlMetrics;
+import com.yourorg.arms.bench.BenchmarkData;
+import com.yourorg.arms.bench.Harness;
+import com.yourorg.arms.models.Grade;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.List;
+
+// ResultSet to GradeColumns mapping, fed from an in-memory CachedRowSet so no database is needed.
+public final class RowMappingBenchmarks {
+    private static final String[] COLUMNS = {"id", "course_code", "course_name", "prelim", "midterm", "finals", "remarks", "created_at"};
+    private static final int[] TYPES = {Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.DECIMAL, Types.DECIMAL, Types.VARCHAR, Types.TIMESTAMP};
+
+    private RowMappingBenchmarks() {
+    }
+
+    public static void register(Harness h) {
+        h.add("GradeDAO.readStudentGrades", rows -> {
+            CachedRowSet rs = rowSet(BenchmarkData.grades(rows));
+            return () -> {
+                rs.beforeFirst();
+                return GradeDAO.readStudentGrades(rs);
+            };
+        });
+
+        // The same rows through the wrapper the pool puts around every result set
+        h.add("GradeDAO.readStudentGrades.counted", rows -> {
+            CachedRowSet rs = rowSet(BenchmarkData.grades(rows));
+            ResultSet counted = new CountingResultSet(rs, new SqlMetrics().named("bench"), null);
+            return () -> {
+                rs.beforeFirst();
+                return GradeDAO.readStudentGrades(counted);
+            };
+        });
+    }
+
+    private static CachedRowSet rowSet(List<Grade> grades) throws Exception {
+        CachedRowSet rs = RowSetProvider.newFactory().createCachedRowSet();
+        RowSetMetaDataImpl meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            meta.setColumnName(i + 1, COLUMNS[i]);
+            meta.setColumnLabel(i + 1, COLUMNS[i]);
+            meta.setColumnType(i + 1, TYPES[i]);
+            meta.setNullable(i + 1, java.sql.ResultSetMetaData.columnNullable);
+        }
+        rs.setMetaData(meta);
+        for (Grade g : grades) {
+            rs.moveToInsertRow();
+            rs.updateInt(1, g.getId());
+            rs.updateString(2, g.getCourseCode());
+            rs.updateString(3, g.getCourseName());
+            updateNullableDouble(rs, 4, g.getPrelim());
+            updateNullableDouble(rs, 5, g.getMidterm());
+            updateNullableDouble(rs, 6, g.getFinals());
+            rs.updateString(7, g.getRemarks());
+            rs.updateTimestamp(8, g.getCreatedAt());
+            rs.insertRow();
+        }
+        rs.moveToCurrentRow();
+        rs.beforeFirst();
+        return rs;
+    }
+
+    private static void updateNullableDouble(CachedRowSet rs, int col, Double v) throws Exception {
+        if (v == null) rs.updateNull(col);
+        else rs.updateBigDecimal(col, java.math.BigDecimal.valueOf(v));
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.bench.BenchmarkData;
+import com.yourorg.arms.bench.Harness;
+import com.yourorg.arms.models.GradeColumns;
+
+// Dashboard numbers (StudentSession, GradeAggregates) and teacher course statistics (CourseAnalytics).
+public final class AggregationBenchmarks {
+    private AggregationBenchmarks() {
+    }
+
+    public static void register(Harness h) {
+        h.add("StudentSession.build", rows -> {
+            GradeColumns grades = GradeColumns.from(BenchmarkData.grades(rows));
+            return () -> new StudentSession(1, "Student", grades);
+        });
+
+        h.add("GradeAggregates.addAll", rows -> {
+            GradeColumns grades = GradeColumns.from(BenchmarkData.grades(rows));
+            return () -> {
+                GradeAggregates agg = new GradeAggregates();
+                agg.addAll(grades);
+                return agg;
+            };
+        });
+
+        // One grade edited and the dashboard read back
+        h.add("GradeAggregates.change", rows -> {
+            GradeColumns grades = GradeColumns.from(BenchmarkData.grades(rows));
+            GradeAggregates agg = new GradeAggregates();
+            agg.addAll(grades);
+            String code = grades.getCourseCode(0);
+            double[] value = {grades.getEffectiveGrade(0)};
+            return () -> {
+                double next = value[0] == 75.0 ? 76.0 : 75.0;
+                agg.change(code, value[0], code, next);
+                value[0] = next;
+                return agg.getGwa() + agg.getMax() + agg.getCourseCount();
+            };
+        });
+
+        // All rows treated as one course, as for a large class
+        h.add("CourseAnalytics.compute", rows -> {
+            GradeColumns grades = GradeColumns.from(BenchmarkData.grades(rows));
+            return () -> CourseAnalytics.compute("CS101", grades);
+        });
+    }
+}
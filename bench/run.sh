@@ -0,0 +1,9 @@
+#!/bin/sh
+# Compiles the application and the benchmarks into a scratch directory and runs them.
+# Arguments are passed through, e.g.: bench/run.sh --rows=10,1000 --out=before.json
+set -e
+cd "$(dirname "$0")/.."
+OUT="${TMPDIR:-/tmp}/arms-bench-classes"
+rm -rf "$OUT" && mkdir -p "$OUT"
+javac -encoding UTF-8 -d "$OUT" $(find src bench -name '*.java')
+java -Djava.awt.headless=true -cp "$OUT" com.yourorg.arms.bench.RunBenchmarks "$@"
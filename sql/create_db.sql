@@ -1,12 +1,30 @@
 CREATE DATABASE IF NOT EXISTS student_grade_checker CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci;
 USE student_grade_checker;
 
+-- The application keeps this schema current through the scripts in src/migrations
+-- (applied at startup, or with: java com.yourorg.arms.SchemaMigrator). Creating the
+-- tables here is optional; the migrator adopts an existing schema.
+
 CREATE TABLE IF NOT EXISTS students (
   id INT AUTO_INCREMENT PRIMARY KEY,
   student_number VARCHAR(50) UNIQUE NOT NULL,
   username VARCHAR(100) NOT NULL,
   full_name VARCHAR(150) NOT NULL,
+  password VARCHAR(255) NOT NULL DEFAULT '',
   profile_pic LONGBLOB,
+  profile_thumb_small MEDIUMBLOB,
+  profile_thumb_large MEDIUMBLOB,
+  profile_pic_sha256 CHAR(64),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  INDEX ix_students_full_name (full_name),
+  INDEX ix_students_full_name_id (full_name, id)
+);
+
+CREATE TABLE IF NOT EXISTS teachers (
+  id INT AUTO_INCREMENT PRIMARY KEY,
+  username VARCHAR(100) UNIQUE NOT NULL,
+  full_name VARCHAR(150) NOT NULL,
+  password VARCHAR(255) NOT NULL,
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -19,8 +37,14 @@ CREATE TABLE IF NOT EXISTS grades (
   midterm DECIMAL(5,2),
   finals DECIMAL(5,2),
   remarks VARCHAR(50),
+  version BIGINT NOT NULL DEFAULT 0,
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE
+  updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+  FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE,
+  UNIQUE KEY ux_grades_student_course (student_id, course_code),
+  INDEX ix_grades_student_created (student_id, created_at),
+  INDEX ix_grades_student_updated (student_id, updated_at),
+  INDEX ix_grades_course_updated (course_code, updated_at)
 );
 
 INSERT INTO students (student_number, username, full_name)
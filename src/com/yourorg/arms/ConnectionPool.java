@@ -0,0 +1,463 @@
+package com.yourorg.arms;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool. Callers get a wrapped Connection whose close()
+ * hands the physical connection back to the pool instead of closing it.
+ */
+public class ConnectionPool implements ConnectionPoolMBean {
+    // Connections handed back this recently are trusted without a round trip to the server.
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final long HOUSEKEEPING_PERIOD_MS = 5_000;
+    // Longest wait between warm-up attempts while the database cannot be reached
+    private static final long MAX_WARM_UP_BACKOFF_MS = 120_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+
+    // Idle connections, most recently used first; eviction takes from the tail.
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger physicalCount = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+    // Housekeeper thread only: failed warm-ups double the delay before the next attempt
+    private long warmUpBackoffMs;
+    private long nextWarmUpAt;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final SqlMetrics metrics = new SqlMetrics(this::getStats);
+    private final SqlMetrics.StatementStats acquireStats = metrics.named(SqlMetrics.CONNECTION_ACQUIRE);
+
+    public ConnectionPool(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = DatabaseConfig.POOL_MIN_SIZE;
+        this.maxSize = DatabaseConfig.POOL_MAX_SIZE;
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "arms-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Opens connections up to the minimum size so the first queries skip the handshake. Each slot
+    // is reserved before connecting, so concurrent callers never open more than minSize between them.
+    public void warmUp() throws SQLException {
+        while (!closed) {
+            int n = physicalCount.get();
+            if (n >= minSize) return;
+            if (physicalCount.compareAndSet(n, n + 1)) idle.offerLast(connect());
+        }
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is shut down");
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(DatabaseConfig.POOL_ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                acquireStats.record(System.nanoTime() - start, true);
+                throw new SQLTransientConnectionException("Timed out after " + DatabaseConfig.POOL_ACQUIRE_TIMEOUT_MS
+                        + " ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isUsable(pc)) break;
+                destroy(pc);
+            }
+            if (pc == null) pc = create();
+
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = DatabaseConfig.POOL_LEAK_THRESHOLD_MS > 0 ? new Throwable("Connection borrowed here") : null;
+            pc.leakReported = false;
+            borrowed.add(pc);
+
+            long waited = System.nanoTime() - start;
+            borrowCount.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            acquireStats.record(waited, false);
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public Stats getStats() {
+        long borrows = borrowCount.get();
+        return new Stats(borrowed.size(), idle.size(), maxSize, permits.getQueueLength(),
+                borrows, timeoutCount.get(), createdCount.get(), destroyedCount.get(), leakCount.get(),
+                borrows == 0 ? 0.0 : totalWaitNanos.get() / 1e6 / borrows, maxWaitNanos.get() / 1e6);
+    }
+
+    public SqlMetrics getMetrics() {
+        return metrics;
+    }
+
+    // =================== JMX ===================
+    @Override
+    public int getActiveConnections() {
+        return borrowed.size();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    @Override
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    @Override
+    public double getAverageWaitMillis() {
+        return getStats().getAvgWaitMs();
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    public void shutdown() {
+        closed = true;
+        metrics.stopLogging();
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) destroy(pc);
+    }
+
+    private PooledConnection create() throws SQLException {
+        physicalCount.incrementAndGet();
+        return connect();
+    }
+
+    // Opens a physical connection for a slot already counted in physicalCount; frees the slot on failure.
+    private PooledConnection connect() throws SQLException {
+        Connection raw;
+        try {
+            raw = DriverManager.getConnection(url, user, password);
+        } catch (SQLException | RuntimeException e) {
+            physicalCount.decrementAndGet();
+            throw e;
+        }
+        createdCount.incrementAndGet();
+        return new PooledConnection(raw);
+    }
+
+    private void destroy(PooledConnection pc) {
+        physicalCount.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            pc.raw.close();
+        } catch (SQLException ignored) {}
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastReturnedAt < VALIDATION_BYPASS_MS) return true;
+        try {
+            return pc.raw.isValid(DatabaseConfig.POOL_VALIDATION_TIMEOUT_S);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        boolean healthy;
+        try {
+            healthy = !pc.raw.isClosed();
+            if (healthy && !pc.raw.getAutoCommit()) {
+                pc.raw.rollback();
+                pc.raw.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        if (healthy && !closed) {
+            pc.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pc);
+        } else {
+            destroy(pc);
+        }
+        permits.release();
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pc : borrowed) {
+            if (!pc.leakReported && now - pc.borrowedAt > DatabaseConfig.POOL_LEAK_THRESHOLD_MS) {
+                pc.leakReported = true;
+                leakCount.incrementAndGet();
+                System.err.println("[ConnectionPool] Possible connection leak: held for "
+                        + (now - pc.borrowedAt) + " ms without being closed");
+                if (pc.borrowSite != null) pc.borrowSite.printStackTrace();
+            }
+        }
+
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && physicalCount.get() > minSize) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastReturnedAt > DatabaseConfig.POOL_IDLE_TIMEOUT_MS && idle.remove(pc)) {
+                destroy(pc);
+            }
+        }
+
+        if (now < nextWarmUpAt) return;
+        try {
+            warmUp();
+            warmUpBackoffMs = 0;
+        } catch (SQLException e) {
+            // Database unreachable; the next borrow will surface the error to the caller. Back off so
+            // the housekeeper does not sit in a connect timeout every few seconds.
+            warmUpBackoffMs = Math.min(MAX_WARM_UP_BACKOFF_MS, Math.max(HOUSEKEEPING_PERIOD_MS, warmUpBackoffMs * 2));
+            nextWarmUpAt = System.currentTimeMillis() + warmUpBackoffMs;
+        }
+    }
+
+    // =================== POOLED CONNECTION ===================
+    private class PooledConnection {
+        final Connection raw;
+        volatile long borrowedAt;
+        volatile long lastReturnedAt = System.currentTimeMillis();
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection raw) {
+            this.raw = raw;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(this));
+        }
+    }
+
+    // One handle per borrow, so a stale reference cannot touch a connection that has been lent out again.
+    private class Handle implements InvocationHandler {
+        private PooledConnection pc;
+
+        Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (pc != null) {
+                        PooledConnection returning = pc;
+                        pc = null;
+                        release(returning);
+                    }
+                    return null;
+                case "isClosed":
+                    return pc == null || pc.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + (pc == null ? "closed" : pc.raw) + "]";
+                default:
+                    if (pc == null) throw new SQLException("Connection has already been returned to the pool");
+                    Object result;
+                    try {
+                        result = method.invoke(pc.raw, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement) {
+                        SqlMetrics.StatementStats stats = args != null && args[0] instanceof String
+                                ? metrics.forSql((String) args[0]) : null;
+                        return instrument(result, method.getReturnType(), new TimedStatement((Statement) result, stats, (Connection) proxy));
+                    }
+                    return result;
+            }
+        }
+    }
+
+    private static Object instrument(Object target, Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    // Times execute* calls. Prepared statements carry their stats; plain ones resolve them per call.
+    // getConnection() answers with the pooled handle, never the physical connection behind it.
+    private class TimedStatement implements InvocationHandler {
+        private final Statement raw;
+        private final SqlMetrics.StatementStats prepared;
+        private final Connection handle;
+
+        TimedStatement(Statement raw, SqlMetrics.StatementStats prepared, Connection handle) {
+            this.raw = raw;
+            this.prepared = prepared;
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) return handle;
+            if (!name.startsWith("execute")) {
+                Object result = forward(raw, method, args);
+                if (result instanceof ResultSet) {
+                    return new CountingResultSet((ResultSet) result, prepared, (Statement) proxy);
+                }
+                return result;
+            }
+
+            SqlMetrics.StatementStats stats = prepared;
+            if (stats == null) {
+                stats = args != null && args.length > 0 && args[0] instanceof String
+                        ? metrics.forSql((String) args[0]) : metrics.named("Statement." + name);
+            }
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = forward(raw, method, args);
+                failed = false;
+                if (result instanceof ResultSet) {
+                    return new CountingResultSet((ResultSet) result, stats, (Statement) proxy);
+                }
+                stats.addRows(affectedRows(result));
+                return result;
+            } finally {
+                stats.record(System.nanoTime() - start, failed);
+            }
+        }
+
+        private long affectedRows(Object result) {
+            if (result instanceof Integer || result instanceof Long) return Math.max(0, ((Number) result).longValue());
+            long total = 0;
+            if (result instanceof int[]) {
+                for (int n : (int[]) result) if (n > 0) total += n;
+            } else if (result instanceof long[]) {
+                for (long n : (long[]) result) if (n > 0) total += n;
+            }
+            return total;
+        }
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // =================== METRICS ===================
+    public static class Stats {
+        private final int active;
+        private final int idle;
+        private final int maxSize;
+        private final int waiting;
+        private final long borrows;
+        private final long timeouts;
+        private final long created;
+        private final long destroyed;
+        private final long leaks;
+        private final double avgWaitMs;
+        private final double maxWaitMs;
+
+        Stats(int active, int idle, int maxSize, int waiting, long borrows, long timeouts,
+              long created, long destroyed, long leaks, double avgWaitMs, double maxWaitMs) {
+            this.active = active;
+            this.idle = idle;
+            this.maxSize = maxSize;
+            this.waiting = waiting;
+            this.borrows = borrows;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.destroyed = destroyed;
+            this.leaks = leaks;
+            this.avgWaitMs = avgWaitMs;
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getMaxSize() { return maxSize; }
+        public int getWaiting() { return waiting; }
+        public long getBorrows() { return borrows; }
+        public long getTimeouts() { return timeouts; }
+        public long getCreated() { return created; }
+        public long getDestroyed() { return destroyed; }
+        public long getLeaks() { return leaks; }
+        public double getAvgWaitMs() { return avgWaitMs; }
+        public double getMaxWaitMs() { return maxWaitMs; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH,
+                    "active=%d, idle=%d, max=%d, waiting=%d, borrows=%d, timeouts=%d, created=%d, destroyed=%d, leaks=%d, avgWait=%.2fms, maxWait=%.2fms",
+                    active, idle, maxSize, waiting, borrows, timeouts, created, destroyed, leaks, avgWaitMs, maxWaitMs);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.yourorg.arms;
+
+// JMX view of the connection pool (jconsole: com.yourorg.arms > ConnectionPool).
+public interface ConnectionPoolMBean {
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getMaxSize();
+
+    int getWaitingThreads();
+
+    long getBorrowCount();
+
+    long getTimeoutCount();
+
+    long getLeakCount();
+
+    double getAverageWaitMillis();
+
+    double getMaxWaitMillis();
+}
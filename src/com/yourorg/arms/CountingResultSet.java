@@ -0,0 +1,430 @@
+package com.yourorg.arms;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+// Result set handed out by the pool: counts the rows read into the statement's stats, and
+// getStatement() answers with the wrapped statement. Every other call goes straight to the
+// driver's result set, so reading columns costs one extra virtual call and no reflection.
+public final class CountingResultSet implements ResultSet {
+    private final ResultSet raw;
+    // Null for a plain Statement's result set fetched outside execute*, which names no statement
+    private final SqlMetrics.StatementStats stats;
+    private final Statement statement;
+
+    public CountingResultSet(ResultSet raw, SqlMetrics.StatementStats stats, Statement statement) {
+        this.raw = raw;
+        this.stats = stats;
+        this.statement = statement;
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException { return raw.absolute(row); }
+    @Override
+    public void afterLast() throws SQLException { raw.afterLast(); }
+    @Override
+    public void beforeFirst() throws SQLException { raw.beforeFirst(); }
+    @Override
+    public void cancelRowUpdates() throws SQLException { raw.cancelRowUpdates(); }
+    @Override
+    public void clearWarnings() throws SQLException { raw.clearWarnings(); }
+    @Override
+    public void close() throws SQLException { raw.close(); }
+    @Override
+    public void deleteRow() throws SQLException { raw.deleteRow(); }
+    @Override
+    public int findColumn(String columnLabel) throws SQLException { return raw.findColumn(columnLabel); }
+    @Override
+    public boolean first() throws SQLException { return raw.first(); }
+    @Override
+    public int getConcurrency() throws SQLException { return raw.getConcurrency(); }
+    @Override
+    public String getCursorName() throws SQLException { return raw.getCursorName(); }
+    @Override
+    public int getFetchDirection() throws SQLException { return raw.getFetchDirection(); }
+    @Override
+    public int getFetchSize() throws SQLException { return raw.getFetchSize(); }
+    @Override
+    public int getHoldability() throws SQLException { return raw.getHoldability(); }
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException { return raw.getMetaData(); }
+    @Override
+    public int getRow() throws SQLException { return raw.getRow(); }
+    @Override
+    public Statement getStatement() { return statement; }
+    @Override
+    public int getType() throws SQLException { return raw.getType(); }
+    @Override
+    public SQLWarning getWarnings() throws SQLException { return raw.getWarnings(); }
+    @Override
+    public void insertRow() throws SQLException { raw.insertRow(); }
+    @Override
+    public boolean isAfterLast() throws SQLException { return raw.isAfterLast(); }
+    @Override
+    public boolean isBeforeFirst() throws SQLException { return raw.isBeforeFirst(); }
+    @Override
+    public boolean isClosed() throws SQLException { return raw.isClosed(); }
+    @Override
+    public boolean isFirst() throws SQLException { return raw.isFirst(); }
+    @Override
+    public boolean isLast() throws SQLException { return raw.isLast(); }
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException { return raw.isWrapperFor(iface); }
+    @Override
+    public boolean last() throws SQLException { return raw.last(); }
+    @Override
+    public void moveToCurrentRow() throws SQLException { raw.moveToCurrentRow(); }
+    @Override
+    public void moveToInsertRow() throws SQLException { raw.moveToInsertRow(); }
+    @Override
+    public boolean next() throws SQLException {
+        boolean more = raw.next();
+        if (more && stats != null) stats.addRows(1);
+        return more;
+    }
+    @Override
+    public boolean previous() throws SQLException { return raw.previous(); }
+    @Override
+    public void refreshRow() throws SQLException { raw.refreshRow(); }
+    @Override
+    public boolean relative(int rows) throws SQLException { return raw.relative(rows); }
+    @Override
+    public boolean rowDeleted() throws SQLException { return raw.rowDeleted(); }
+    @Override
+    public boolean rowInserted() throws SQLException { return raw.rowInserted(); }
+    @Override
+    public boolean rowUpdated() throws SQLException { return raw.rowUpdated(); }
+    @Override
+    public void setFetchDirection(int direction) throws SQLException { raw.setFetchDirection(direction); }
+    @Override
+    public void setFetchSize(int rows) throws SQLException { raw.setFetchSize(rows); }
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException { return raw.unwrap(iface); }
+    @Override
+    public boolean wasNull() throws SQLException { return raw.wasNull(); }
+    @Override
+    public Array getArray(int columnIndex) throws SQLException { return raw.getArray(columnIndex); }
+    @Override
+    public Array getArray(String columnLabel) throws SQLException { return raw.getArray(columnLabel); }
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException { return raw.getAsciiStream(columnIndex); }
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException { return raw.getAsciiStream(columnLabel); }
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException { return raw.getBigDecimal(columnIndex); }
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException { return raw.getBigDecimal(columnLabel); }
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException { return raw.getBigDecimal(columnIndex, scale); }
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException { return raw.getBigDecimal(columnLabel, scale); }
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException { return raw.getBinaryStream(columnIndex); }
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException { return raw.getBinaryStream(columnLabel); }
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException { return raw.getBlob(columnIndex); }
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException { return raw.getBlob(columnLabel); }
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException { return raw.getBoolean(columnIndex); }
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException { return raw.getBoolean(columnLabel); }
+    @Override
+    public byte getByte(int columnIndex) throws SQLException { return raw.getByte(columnIndex); }
+    @Override
+    public byte getByte(String columnLabel) throws SQLException { return raw.getByte(columnLabel); }
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException { return raw.getBytes(columnIndex); }
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException { return raw.getBytes(columnLabel); }
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException { return raw.getCharacterStream(columnIndex); }
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException { return raw.getCharacterStream(columnLabel); }
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException { return raw.getClob(columnIndex); }
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException { return raw.getClob(columnLabel); }
+    @Override
+    public Date getDate(int columnIndex) throws SQLException { return raw.getDate(columnIndex); }
+    @Override
+    public Date getDate(String columnLabel) throws SQLException { return raw.getDate(columnLabel); }
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException { return raw.getDate(columnIndex, cal); }
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException { return raw.getDate(columnLabel, cal); }
+    @Override
+    public double getDouble(int columnIndex) throws SQLException { return raw.getDouble(columnIndex); }
+    @Override
+    public double getDouble(String columnLabel) throws SQLException { return raw.getDouble(columnLabel); }
+    @Override
+    public float getFloat(int columnIndex) throws SQLException { return raw.getFloat(columnIndex); }
+    @Override
+    public float getFloat(String columnLabel) throws SQLException { return raw.getFloat(columnLabel); }
+    @Override
+    public int getInt(int columnIndex) throws SQLException { return raw.getInt(columnIndex); }
+    @Override
+    public int getInt(String columnLabel) throws SQLException { return raw.getInt(columnLabel); }
+    @Override
+    public long getLong(int columnIndex) throws SQLException { return raw.getLong(columnIndex); }
+    @Override
+    public long getLong(String columnLabel) throws SQLException { return raw.getLong(columnLabel); }
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException { return raw.getNCharacterStream(columnIndex); }
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException { return raw.getNCharacterStream(columnLabel); }
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException { return raw.getNClob(columnIndex); }
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException { return raw.getNClob(columnLabel); }
+    @Override
+    public String getNString(int columnIndex) throws SQLException { return raw.getNString(columnIndex); }
+    @Override
+    public String getNString(String columnLabel) throws SQLException { return raw.getNString(columnLabel); }
+    @Override
+    public Object getObject(int columnIndex) throws SQLException { return raw.getObject(columnIndex); }
+    @Override
+    public Object getObject(String columnLabel) throws SQLException { return raw.getObject(columnLabel); }
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException { return raw.getObject(columnIndex, type); }
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException { return raw.getObject(columnIndex, map); }
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException { return raw.getObject(columnLabel, type); }
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException { return raw.getObject(columnLabel, map); }
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException { return raw.getRef(columnIndex); }
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException { return raw.getRef(columnLabel); }
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException { return raw.getRowId(columnIndex); }
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException { return raw.getRowId(columnLabel); }
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException { return raw.getSQLXML(columnIndex); }
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException { return raw.getSQLXML(columnLabel); }
+    @Override
+    public short getShort(int columnIndex) throws SQLException { return raw.getShort(columnIndex); }
+    @Override
+    public short getShort(String columnLabel) throws SQLException { return raw.getShort(columnLabel); }
+    @Override
+    public String getString(int columnIndex) throws SQLException { return raw.getString(columnIndex); }
+    @Override
+    public String getString(String columnLabel) throws SQLException { return raw.getString(columnLabel); }
+    @Override
+    public Time getTime(int columnIndex) throws SQLException { return raw.getTime(columnIndex); }
+    @Override
+    public Time getTime(String columnLabel) throws SQLException { return raw.getTime(columnLabel); }
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException { return raw.getTime(columnIndex, cal); }
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException { return raw.getTime(columnLabel, cal); }
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException { return raw.getTimestamp(columnIndex); }
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException { return raw.getTimestamp(columnLabel); }
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException { return raw.getTimestamp(columnIndex, cal); }
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException { return raw.getTimestamp(columnLabel, cal); }
+    @Override
+    public URL getURL(int columnIndex) throws SQLException { return raw.getURL(columnIndex); }
+    @Override
+    public URL getURL(String columnLabel) throws SQLException { return raw.getURL(columnLabel); }
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException { return raw.getUnicodeStream(columnIndex); }
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException { return raw.getUnicodeStream(columnLabel); }
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException { raw.updateArray(columnIndex, x); }
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException { raw.updateArray(columnLabel, x); }
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException { raw.updateAsciiStream(columnIndex, x); }
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException { raw.updateAsciiStream(columnLabel, x); }
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException { raw.updateAsciiStream(columnIndex, x, length); }
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException { raw.updateAsciiStream(columnIndex, x, length); }
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException { raw.updateAsciiStream(columnLabel, x, length); }
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException { raw.updateAsciiStream(columnLabel, x, length); }
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException { raw.updateBigDecimal(columnIndex, x); }
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException { raw.updateBigDecimal(columnLabel, x); }
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException { raw.updateBinaryStream(columnIndex, x); }
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException { raw.updateBinaryStream(columnLabel, x); }
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException { raw.updateBinaryStream(columnIndex, x, length); }
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException { raw.updateBinaryStream(columnIndex, x, length); }
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException { raw.updateBinaryStream(columnLabel, x, length); }
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException { raw.updateBinaryStream(columnLabel, x, length); }
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException { raw.updateBlob(columnIndex, inputStream); }
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException { raw.updateBlob(columnIndex, x); }
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException { raw.updateBlob(columnLabel, inputStream); }
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException { raw.updateBlob(columnLabel, x); }
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException { raw.updateBlob(columnIndex, inputStream, length); }
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException { raw.updateBlob(columnLabel, inputStream, length); }
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException { raw.updateBoolean(columnIndex, x); }
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException { raw.updateBoolean(columnLabel, x); }
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException { raw.updateByte(columnIndex, x); }
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException { raw.updateByte(columnLabel, x); }
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException { raw.updateBytes(columnIndex, x); }
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException { raw.updateBytes(columnLabel, x); }
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader reader) throws SQLException { raw.updateCharacterStream(columnIndex, reader); }
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException { raw.updateCharacterStream(columnLabel, reader); }
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader reader, int length) throws SQLException { raw.updateCharacterStream(columnIndex, reader, length); }
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader reader, long length) throws SQLException { raw.updateCharacterStream(columnIndex, reader, length); }
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException { raw.updateCharacterStream(columnLabel, reader, length); }
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException { raw.updateCharacterStream(columnLabel, reader, length); }
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException { raw.updateClob(columnIndex, reader); }
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException { raw.updateClob(columnIndex, x); }
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException { raw.updateClob(columnLabel, reader); }
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException { raw.updateClob(columnLabel, x); }
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException { raw.updateClob(columnIndex, reader, length); }
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException { raw.updateClob(columnLabel, reader, length); }
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException { raw.updateDate(columnIndex, x); }
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException { raw.updateDate(columnLabel, x); }
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException { raw.updateDouble(columnIndex, x); }
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException { raw.updateDouble(columnLabel, x); }
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException { raw.updateFloat(columnIndex, x); }
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException { raw.updateFloat(columnLabel, x); }
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException { raw.updateInt(columnIndex, x); }
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException { raw.updateInt(columnLabel, x); }
+    @Override
+    public void updateLong(int columnIndex, long length) throws SQLException { raw.updateLong(columnIndex, length); }
+    @Override
+    public void updateLong(String columnLabel, long length) throws SQLException { raw.updateLong(columnLabel, length); }
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader reader) throws SQLException { raw.updateNCharacterStream(columnIndex, reader); }
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException { raw.updateNCharacterStream(columnLabel, reader); }
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader reader, long length) throws SQLException { raw.updateNCharacterStream(columnIndex, reader, length); }
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException { raw.updateNCharacterStream(columnLabel, reader, length); }
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException { raw.updateNClob(columnIndex, reader); }
+    @Override
+    public void updateNClob(int columnIndex, NClob x) throws SQLException { raw.updateNClob(columnIndex, x); }
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException { raw.updateNClob(columnLabel, reader); }
+    @Override
+    public void updateNClob(String columnLabel, NClob x) throws SQLException { raw.updateNClob(columnLabel, x); }
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException { raw.updateNClob(columnIndex, reader, length); }
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException { raw.updateNClob(columnLabel, reader, length); }
+    @Override
+    public void updateNString(int columnIndex, String x) throws SQLException { raw.updateNString(columnIndex, x); }
+    @Override
+    public void updateNString(String columnLabel, String x) throws SQLException { raw.updateNString(columnLabel, x); }
+    @Override
+    public void updateNull(int columnIndex) throws SQLException { raw.updateNull(columnIndex); }
+    @Override
+    public void updateNull(String columnLabel) throws SQLException { raw.updateNull(columnLabel); }
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException { raw.updateObject(columnIndex, x); }
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException { raw.updateObject(columnLabel, x); }
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException { raw.updateObject(columnIndex, x, scaleOrLength); }
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException { raw.updateObject(columnLabel, x, scaleOrLength); }
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException { raw.updateRef(columnIndex, x); }
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException { raw.updateRef(columnLabel, x); }
+    @Override
+    public void updateRow() throws SQLException { raw.updateRow(); }
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException { raw.updateRowId(columnIndex, x); }
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException { raw.updateRowId(columnLabel, x); }
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException { raw.updateSQLXML(columnIndex, x); }
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException { raw.updateSQLXML(columnLabel, x); }
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException { raw.updateShort(columnIndex, x); }
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException { raw.updateShort(columnLabel, x); }
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException { raw.updateString(columnIndex, x); }
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException { raw.updateString(columnLabel, x); }
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException { raw.updateTime(columnIndex, x); }
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException { raw.updateTime(columnLabel, x); }
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException { raw.updateTimestamp(columnIndex, x); }
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException { raw.updateTimestamp(columnLabel, x); }
+}
@@ -1,13 +1,28 @@
 package com.yourorg.arms;
 
 public class DatabaseConfig {
-    public static final String DB_HOST = "localhost";
+    public static final String DB_HOST = "127.0.0.1";
     public static final int DB_PORT = 3306;
     public static final String DB_NAME = "student_grade_checker";
     public static final String DB_USER = "root";
     public static final String DB_PASSWORD = ""; // leave blank if default XAMPP
 
+    // Connection pool sizing (see ConnectionPool.getStats() when tuning)
+    public static final int POOL_MIN_SIZE = 2;
+    public static final int POOL_MAX_SIZE = 10;
+    public static final long POOL_ACQUIRE_TIMEOUT_MS = 5_000;
+    public static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    public static final long POOL_LEAK_THRESHOLD_MS = 30_000;
+    public static final int POOL_VALIDATION_TIMEOUT_S = 2;
+
+    // Print the per-statement SQL timings (see SqlMetrics) this often while queries are running; 0 disables
+    public static final long SQL_METRICS_LOG_INTERVAL_S = 300;
+
+    // Apply pending scripts from /migrations when the app starts (see SchemaMigrator)
+    public static final boolean MIGRATE_ON_STARTUP = true;
+
+    // The one URL the pool connects with; rewriteBatchedStatements turns JDBC batches into multi-row statements
     public static String getJdbcUrl() {
-        return "jdbc:mysql://" + DB_HOST + ":" + DB_PORT + "/" + DB_NAME + "?useSSL=false&serverTimezone=UTC";
+        return "jdbc:mysql://" + DB_HOST + ":" + DB_PORT + "/" + DB_NAME + "?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true";
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,56 @@
 package com.yourorg.arms;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnector {
-	private static final String URL = "jdbc:mysql://127.0.0.1:3306/student_grade_checker?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root"; // XAMPP default user
-    private static final String PASSWORD = ""; // Leave blank unless you set one in phpMyAdmin
+    private static final String METRICS_MBEAN_NAME = "com.yourorg.arms:type=SqlMetrics";
+    private static final String POOL_MBEAN_NAME = "com.yourorg.arms:type=ConnectionPool";
 
-    public static Connection getConnection() throws SQLException {
+    private static final ConnectionPool POOL;
+
+    static {
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver"); // MySQL connector driver
+            Class.forName("com.mysql.cj.jdbc.Driver"); // MySQL connector driver, loaded once
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
         }
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        POOL = new ConnectionPool(DatabaseConfig.getJdbcUrl(), DatabaseConfig.DB_USER, DatabaseConfig.DB_PASSWORD);
+        POOL.getMetrics().startLogging(DatabaseConfig.SQL_METRICS_LOG_INTERVAL_S);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(POOL.getMetrics(), new ObjectName(METRICS_MBEAN_NAME));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(POOL, new ObjectName(POOL_MBEAN_NAME));
+        } catch (JMException e) {
+            System.err.println("[DatabaseConnector] SQL and pool metrics not registered with JMX: " + e.getMessage());
+        }
+    }
+
+    // Returns a pooled connection; closing it hands it back to the pool.
+    public static Connection getConnection() throws SQLException {
+        return POOL.getConnection();
+    }
+
+    // Pre-opens the minimum number of connections. Safe to call off the EDT at startup.
+    public static void warmUp() {
+        try {
+            POOL.warmUp();
+        } catch (SQLException e) {
+            System.err.println("[DatabaseConnector] Pool warm-up failed: " + e.getMessage());
+        }
+    }
+
+    public static ConnectionPool.Stats getPoolStats() {
+        return POOL.getStats();
+    }
+
+    public static SqlMetrics getSqlMetrics() {
+        return POOL.getMetrics();
+    }
+
+    public static void shutdown() {
+        POOL.shutdown();
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,47 @@
 package com.yourorg.arms;
 
 import com.yourorg.arms.DatabaseConnector;
+import com.yourorg.arms.dao.GradeDAO;
+import com.yourorg.arms.dao.GradeListQuery;
+import com.yourorg.arms.dao.StudentDAO;
+import com.yourorg.arms.dao.TeacherDAO;
+import com.yourorg.arms.models.Course;
+import com.yourorg.arms.models.Grade;
+import com.yourorg.arms.models.GradeColumns;
+import com.yourorg.arms.models.Student;
+import com.yourorg.arms.service.CourseAnalytics;
+import com.yourorg.arms.service.GradeAggregates;
+import com.yourorg.arms.service.GradeCsvImporter;
+import com.yourorg.arms.service.GradeViewEngine;
+import com.yourorg.arms.service.GradeWriteQueue;
+import com.yourorg.arms.service.PasswordVerifier;
+import com.yourorg.arms.service.ProfileThumbnails;
+import com.yourorg.arms.service.SessionCache;
+import com.yourorg.arms.service.StudentSearchIndex;
+import com.yourorg.arms.service.StudentSession;
+import com.yourorg.arms.service.StudentSnapshot;
+import com.yourorg.arms.service.UiTaskScope;
+import com.yourorg.arms.ui.ImageCache;
+import com.yourorg.arms.ui.PagedGradesTableModel;
+import com.yourorg.arms.ui.SortableHeader;
+import com.yourorg.arms.ui.StudentGradesTableModel;
+import com.yourorg.arms.ui.TypeAheadField;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.sql.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 public class MainApp extends JFrame {
@@ -45,6 +73,8 @@ public class MainApp extends JFrame {
     // Teacher Login Fields
     private JTextField teacherUsernameField;
     private JPasswordField teacherPasswordField;
+    private JButton studentLoginButton;
+    private JButton teacherLoginButton;
 
     private int currentStudentId = -1;
     private String currentStudentName = "";
@@ -52,26 +82,87 @@ public class MainApp extends JFrame {
     private String currentTeacherName = "";
 
     private JLabel lblProfilePicTop;
+    private JLabel lblProfilePicSettings;
+    // Hash of the picture last shown per "studentId:size"; the pixels live in IMAGE_CACHE. EDT only.
+    private final Map<String, String> profilePictureHashes = new HashMap<>();
 
     // Teacher Portal Components
-    private JComboBox<String> studentSelector;
-    private JComboBox<String> courseSelector;
+    private TypeAheadField<Student> studentSelector;
+    // Search index over the roster, grown page by page while the portal loads. EDT only.
+    private StudentSearchIndex studentIndex = StudentSearchIndex.EMPTY;
+    private static final int STUDENT_PAGE_SIZE = 5000;
+    private static final int STUDENT_MATCHES = 20;
+    private JComboBox<Course> courseSelector;
     private JTextField prelimField;
     private JTextField midtermField;
     private JTextField finalsField;
     private JTextField remarksField;
-    private DefaultTableModel teacherGradesTableModel;
-
-    
-    private final HashMap<String, String> loginAccounts = new HashMap<>();
-    private final ArrayList<Double> gradesPerTerm = new ArrayList<>(16);
-    private final LinkedList<String> enrolledCourses = new LinkedList<>();
-    private final Queue<String> recentGradesQueue = new LinkedList<>();
-    private List<GradeRecord> gradeRecords = new ArrayList<>();
+    private PagedGradesTableModel teacherGradesTableModel;
+    private JComboBox<String> courseFilter;
+    private static final String ALL_COURSES = "All courses";
+    // Form lookups by "studentId:courseCode", NO_GRADE when the student has none. EDT only.
+    private final Map<String, Grade> gradeLookupCache = new LinkedHashMap<String, Grade>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Grade> eldest) {
+            return size() > GRADE_LOOKUP_CACHE_SIZE;
+        }
+    };
+    private static final Grade NO_GRADE = new Grade();
+    private static final int GRADE_LOOKUP_CACHE_SIZE = 500;
+    private static final int GRADE_LOOKUP_DELAY_MS = 250;
+    private javax.swing.Timer gradeLookupTimer;
+    // Set while the selectors are refilled, so each addItem does not start a lookup
+    private boolean populatingSelectors;
+
+    // Pending teacher edits and student snapshots kept on this machine
+    private static final Path LOCAL_DATA_DIR = Paths.get(System.getProperty("user.home"), ".arms");
+    private static final Path SNAPSHOT_DIR = LOCAL_DATA_DIR.resolve("snapshots");
+    // Snapshots that could not be replaced or deleted, e.g. while another program held the file
+    // open. They are never opened again in this run, and deleting them is retried at each login.
+    private final Set<Path> staleSnapshots = ConcurrentHashMap.newKeySet();
+
+    // Write-behind mode: edits wait in a journaled queue and are saved together on a timer or on demand
+    private static final int FLUSH_INTERVAL_MS = 30_000;
+    private GradeWriteQueue writeQueue;
+    private JCheckBox batchEditsToggle;
+    private JLabel pendingEditsLabel;
+    private javax.swing.Timer flushTimer;
+    private boolean flushing;
+
+    // Scaled icons and profile thumbnails, shared by every screen
+    private static final ImageCache IMAGE_CACHE = new ImageCache();
+    // Data access; every call goes through a task scope so no JDBC runs on the EDT
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final GradeDAO gradeDAO = new GradeDAO();
+    private final TeacherDAO teacherDAO = new TeacherDAO();
+    private final CourseAnalytics courseAnalytics = new CourseAnalytics(gradeDAO);
+    private final UiTaskScope studentTasks = new UiTaskScope(this::setBusy);
+    private final UiTaskScope teacherTasks = new UiTaskScope(this::setBusy);
+    private int busyScopes = 0;
+
+    // Student logins verified in the last few minutes; repeating one skips the database check
+    private static final int SESSION_CACHE_SIZE = 64;
+    private static final int SESSION_TTL_MINUTES = 15;
+    private final SessionCache sessionCache = new SessionCache(SESSION_CACHE_SIZE, SESSION_TTL_MINUTES, TimeUnit.MINUTES);
+    // Snapshot shared by the dashboard, grades table and GWA panel; replaced, never modified
+    private volatile StudentSession studentSession;
+    // Dashboard numbers for the published session, kept up to date row by row (EDT only)
+    private final GradeAggregates dashboardStats = new GradeAggregates();
+    // Grade watermark the published session is current to, so a refresh reads only what changed
+    private GradeDAO.GradeWatermark sessionWatermark;
+    // Identity written into the student's local snapshot; null until the login is checked
+    private StudentSnapshot.Owner snapshotOwner;
 
     private JLabel lblGwaStat;
     private JLabel lblCoursesStat;
-    private DefaultTableModel gradesTableModel;
+    private JLabel lblCurrentGwa;
+    private JLabel lblWelcome;
+    private StudentGradesTableModel gradesTableModel;
+    private SortableHeader gradesSortHeader;
+    // Current sort and filter of the student's grade table, applied to every new snapshot
+    private List<GradeViewEngine.SortKey> studentSort = Collections.emptyList();
+    private GradeViewEngine.Filter studentFilter = GradeViewEngine.Filter.NONE;
+    private DefaultTableModel recentGradesTableModel;
 
     public MainApp() {
         setTitle("ARMS - Academic Records Management System");
@@ -92,6 +183,11 @@ public class MainApp extends JFrame {
 
         setContentPane(rootPanel);
         mainLayout.show(rootPanel, "RoleSelection");
+
+        // A failed migration is reported right away; logins retry it
+        SchemaMigrator.startInBackground().whenComplete((applied, ex) -> {
+            if (ex != null) SwingUtilities.invokeLater(() -> showSchemaError(ex));
+        });
     }
 
  // =================== ROLE SELECTION PANEL ===================
@@ -297,10 +393,14 @@ public class MainApp extends JFrame {
         loginButton.setAlignmentX(Component.CENTER_ALIGNMENT);
         loginButton.setMaximumSize(new Dimension(250, 45));
         loginButton.addActionListener(e -> attemptStudentLogin());
+        studentLoginButton = loginButton;
 
         JButton backButton = createTransparentButton("← Back to Role Selection");
         backButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        backButton.addActionListener(e -> mainLayout.show(rootPanel, "RoleSelection"));
+        backButton.addActionListener(e -> {
+            studentTasks.cancelAll();
+            mainLayout.show(rootPanel, "RoleSelection");
+        });
 
         formPanel.add(lblStudentNumber);
         formPanel.add(Box.createVerticalStrut(5));
@@ -411,10 +511,14 @@ public class MainApp extends JFrame {
         loginButton.setAlignmentX(Component.CENTER_ALIGNMENT);
         loginButton.setMaximumSize(new Dimension(250, 45));
         loginButton.addActionListener(e -> attemptTeacherLogin());
+        teacherLoginButton = loginButton;
 
         JButton backButton = createTransparentButton("← Back to Role Selection");
         backButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        backButton.addActionListener(e -> mainLayout.show(rootPanel, "RoleSelection"));
+        backButton.addActionListener(e -> {
+            teacherTasks.cancelAll();
+            mainLayout.show(rootPanel, "RoleSelection");
+        });
 
         formPanel.add(lblUsername);
         formPanel.add(Box.createVerticalStrut(5));
@@ -565,62 +669,130 @@ public class MainApp extends JFrame {
             return;
         }
 
-        // Check in-memory cache first
-        if (loginAccounts.containsKey(username) && Objects.equals(loginAccounts.get(username), password)) {
-            mainLayout.show(rootPanel, "StudentApp");
-            loadStudentDataStructures();
-            refreshGradesForCurrentStudent();
+        // Check the session cache first; a snapshot saved on this machine opens the portal while
+        // the database check runs
+        setLoginPending(studentLoginButton, true);
+        Path snapshotFile = StudentSnapshot.pathFor(SNAPSHOT_DIR, studentNumber);
+        studentTasks.run(() -> {
+            StudentSnapshot.Owner cached = sessionCache.get(studentNumber, username);
+            StudentSnapshot snap = isStaleSnapshot(snapshotFile) ? null : StudentSnapshot.read(snapshotFile);
+            if (snap != null && !snap.getOwner().isFor(studentNumber, username)) snap = null;
+            // One hash: a snapshot saved with the cached verifier is settled by the same check, and
+            // only a snapshot with a different verifier (another password) is checked on its own.
+            // The verifier it unlocks holds the key the snapshot's grades are sealed with.
+            PasswordVerifier matched = null;
+            if (cached != null) matched = cached.getVerifier().unlock(password);
+            if (matched == null && snap != null && (cached == null || !snap.getOwner().getVerifier().sameAs(cached.getVerifier()))) {
+                matched = snap.getOwner().getVerifier().unlock(password);
+            }
+            cached = cached != null && cached.getVerifier().sameAs(matched) ? cached.withVerifier(matched) : null;
+            snap = snap != null && snap.getOwner().getVerifier().sameAs(matched) ? snap.open(matched) : null;
+            return new LocalLogin(cached, snap, matched);
+        }, local -> {
+            if (local.cached != null) {
+                openCachedSession(local.cached, local.snapshot);
+                return;
+            }
+            if (local.snapshot != null) showStudentSnapshot(local.snapshot);
+            verifyStudentLogin(studentNumber, username, password, local.snapshot, local.verifier);
+        }, ex -> {
+            ex.printStackTrace();
+            verifyStudentLogin(studentNumber, username, password, null, null);
+        });
+    }
+
+    // A login verified recently on this machine: the cached identity is used as is, and only the
+    // grades come from the database (or from the snapshot, if it is still current).
+    private void openCachedSession(StudentSnapshot.Owner owner, StudentSnapshot snap) {
+        snapshotOwner = owner;
+        if (snap != null && snap.getOwner().getStudentId() == owner.getStudentId()) {
+            showStudentSnapshot(snap);
+            if (owner.getFullName().equals(snap.getOwner().getFullName())) refreshStudentSession();
+            else loadStudentSession(owner.getStudentId(), owner.getFullName());
+        } else {
+            currentStudentId = owner.getStudentId();
+            currentStudentName = owner.getFullName();
             updateDashboardStats();
-            return;
+            mainLayout.show(rootPanel, "StudentApp");
+            setLoginPending(studentLoginButton, false);
+            clearStudentLoginFields();
+            loadStudentSession(owner.getStudentId(), owner.getFullName());
         }
+        loadProfilePicture(owner.getStudentId(), false);
+    }
 
-        // SQL check as primary source
-        String sql = "SELECT id, full_name, profile_pic, password FROM students WHERE student_number = ? AND username = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, studentNumber);
-            ps.setString(2, username);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    String dbPassword = rs.getString("password");
-                    if (Objects.equals(dbPassword, password)) {
-                        // Cache credentials for future quick validation
-                        loginAccounts.put(username, dbPassword);
-                        
-                        // Set current student data
-                        currentStudentId = rs.getInt("id");
-                        currentStudentName = rs.getString("full_name");
-                        
-                        // Load profile picture if available
-                        byte[] blob = rs.getBytes("profile_pic");
-                        if (blob != null) {
-                            ImageIcon ic = imageFromBytes(blob, 40, 40);
-                            if (ic != null && lblProfilePicTop != null) {
-                                lblProfilePicTop.setIcon(ic);
-                            }
-                        }
-                        
-                        // Navigate to student portal and load data
-                        mainLayout.show(rootPanel, "StudentApp");
-                        loadStudentDataStructures();
-                        refreshGradesForCurrentStudent();
-                        updateDashboardStats();
-                        
-                        // Clear login fields
-                        clearStudentLoginFields();
-                        return;
-                    }
+    // Paints the portal from a local snapshot; the database login is still being checked.
+    private void showStudentSnapshot(StudentSnapshot snap) {
+        StudentSnapshot.Owner owner = snap.getOwner();
+        currentStudentId = owner.getStudentId();
+        currentStudentName = owner.getFullName();
+        publishStudentSession(new StudentSession(owner.getStudentId(), owner.getFullName(), snap.getGrades()), snap.getWatermark());
+        mainLayout.show(rootPanel, "StudentApp");
+        setLoginPending(studentLoginButton, false);
+        clearStudentLoginFields();
+    }
+
+    // SQL check as primary source. With a snapshot on screen, success only checks it is current
+    // and failure to reach the database leaves it up as an offline view. known is a verifier the
+    // password already matched on this machine, reused so the password is not hashed again.
+    private void verifyStudentLogin(String studentNumber, String username, String password, StudentSnapshot shown,
+                                    PasswordVerifier known) {
+        studentTasks.run(() -> {
+            SchemaMigrator.awaitStartup();
+            Student s = studentDAO.findByLogin(studentNumber, username);
+            if (s == null || !Objects.equals(s.getPassword(), password)) return null;
+            boolean current = shown != null && shown.getOwner().getStudentId() == s.getId();
+            // A new verifier costs a full password hash; only needed when none matched locally,
+            // i.e. on a first login here or after the password changed
+            PasswordVerifier verifier = known != null ? known : PasswordVerifier.create(password);
+            return new StudentLogin(s, current ? null : gradeDAO.getGradeSummary(s.getId()), verifier);
+        }, login -> {
+            setLoginPending(studentLoginButton, false);
+            if (login == null) {
+                sessionCache.invalidate(studentNumber, username);
+                if (shown != null) {
+                    // The password changed since the snapshot was saved; it must not open the portal again
+                    logoutStudent();
+                    mainLayout.show(rootPanel, "StudentLogin");
+                    deleteStudentSnapshot(StudentSnapshot.pathFor(SNAPSHOT_DIR, studentNumber));
                 }
                 showMessage("Invalid credentials. Please check your student number, username, and password.", 
                            "Login Failed", 
                            JOptionPane.ERROR_MESSAGE);
+                return;
             }
-        } catch (SQLException ex) {
-            showMessage("Database connection error. Please try again later.\n\nDetails: " + ex.getMessage(), 
-                       "Database Error", 
-                       JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
-        }
+
+            Student s = login.student;
+            snapshotOwner = new StudentSnapshot.Owner(s.getId(), s.getStudentNumber(), s.getUsername(), s.getFullName(), login.verifier);
+            sessionCache.put(snapshotOwner);
+            if (login.summary == null) {
+                // Only grades changed since the snapshot was taken are read, unless the name changed too
+                if (s.getFullName().equals(shown.getOwner().getFullName())) refreshStudentSession();
+                else loadStudentSession(s.getId(), s.getFullName());
+                loadProfilePicture(s.getId(), false);
+                return;
+            }
+
+            // Open the portal on the summary numbers; the grade list and picture follow
+            currentStudentId = s.getId();
+            currentStudentName = s.getFullName();
+            showDashboardNumbers(s.getFullName(), login.summary.getGwa(), login.summary.getCourseCount());
+            mainLayout.show(rootPanel, "StudentApp");
+            loadStudentSession(s.getId(), s.getFullName());
+            loadProfilePicture(s.getId(), false);
+            
+            // Clear login fields
+            clearStudentLoginFields();
+        }, ex -> {
+            setLoginPending(studentLoginButton, false);
+            if (shown != null) {
+                showMessage("The database cannot be reached, so you are viewing the grades saved on this computer.\n" +
+                        "They may be out of date; use Refresh once the connection is back.", "Offline", JOptionPane.WARNING_MESSAGE);
+                ex.printStackTrace();
+                return;
+            }
+            showDatabaseError(ex);
+        });
     }
 
     private void attemptTeacherLogin() {
@@ -635,37 +807,58 @@ public class MainApp extends JFrame {
         }
 
         // Check teachers table
-        String sql = "SELECT id, full_name, password FROM teachers WHERE username = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, username);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    String dbPassword = rs.getString("password");
-                    if (Objects.equals(dbPassword, password)) {
-                        // Set current teacher data
-                        currentTeacherId = rs.getInt("id");
-                        currentTeacherName = rs.getString("full_name");
-                        
-                        // Navigate to teacher portal and load data
-                        mainLayout.show(rootPanel, "TeacherPortal");
-                        loadTeacherPortalData();
-                        
-                        // Clear login fields
-                        clearTeacherLoginFields();
-                        return;
-                    }
-                }
+        setLoginPending(teacherLoginButton, true);
+        teacherTasks.run(() -> {
+            SchemaMigrator.awaitStartup();
+            return teacherDAO.findByUsername(username);
+        }, t -> {
+            setLoginPending(teacherLoginButton, false);
+            if (t == null || !Objects.equals(t.getPassword(), password)) {
                 showMessage("Invalid credentials. Please check your username and password.", 
                            "Login Failed", 
                            JOptionPane.ERROR_MESSAGE);
+                return;
             }
-        } catch (SQLException ex) {
-            showMessage("Database connection error. Please try again later.\n\nDetails: " + ex.getMessage(), 
-                       "Database Error", 
-                       JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
-        }
+            // Set current teacher data
+            currentTeacherId = t.getId();
+            currentTeacherName = t.getFullName();
+            
+            // Navigate to teacher portal and load data
+            mainLayout.show(rootPanel, "TeacherPortal");
+            loadTeacherPortalData();
+            
+            // Clear login fields
+            clearTeacherLoginFields();
+        }, ex -> {
+            setLoginPending(teacherLoginButton, false);
+            showDatabaseError(ex);
+        });
+    }
+
+    private void setLoginPending(JButton button, boolean pending) {
+        button.setEnabled(!pending);
+        button.setText(pending ? "SIGNING IN..." : "LOGIN");
+    }
+
+    private void showDatabaseError(Throwable ex) {
+        showMessage("Database connection error. Please try again later.\n\nDetails: " + ex.getMessage(), 
+                   "Database Error", 
+                   JOptionPane.ERROR_MESSAGE);
+        ex.printStackTrace();
+    }
+
+    private void showSchemaError(Throwable ex) {
+        showMessage("The database could not be updated to this version of ARMS, so signing in is not possible yet.\n" +
+                "It will be tried again when you log in.\n\nDetails: " + ex.getMessage(),
+                "Database Error",
+                JOptionPane.ERROR_MESSAGE);
+        ex.printStackTrace();
+    }
+
+    // Shows a wait cursor while any task scope has work in flight.
+    private void setBusy(boolean busy) {
+        busyScopes += busy ? 1 : -1;
+        getRootPane().setCursor(busyScopes > 0 ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
     }
 
     // =================== HELPER METHODS FOR CLEARING LOGIN FIELDS ===================
@@ -707,6 +900,15 @@ public class MainApp extends JFrame {
         logoutBtn.setBackground(ACCENT_PRIMARY);
         logoutBtn.setForeground(Color.WHITE);
         logoutBtn.addActionListener(e -> {
+            teacherTasks.cancelAll();
+            gradeLookupTimer.stop();
+            // Unsaved edits stay in the journal and come back at the next login
+            flushTimer.stop();
+            flushing = false;
+            writeQueue = null;
+            updatePendingEditsLabel();
+            gradeLookupCache.clear();
+            teacherGradesTableModel.clear();
             currentTeacherId = -1;
             currentTeacherName = "";
             mainLayout.show(rootPanel, "RoleSelection");
@@ -752,9 +954,10 @@ public class MainApp extends JFrame {
         formTitle.setAlignmentX(Component.LEFT_ALIGNMENT);
 
         // Student Selection
-        JLabel lblStudent = new JLabel("Select Student:");
+        JLabel lblStudent = new JLabel("Search Student (number or name):");
         lblStudent.setFont(FONT_UI);
-        studentSelector = new JComboBox<>();
+        studentSelector = new TypeAheadField<>(q -> studentIndex.search(q, STUDENT_MATCHES),
+                st -> st.getStudentNumber() + " - " + st.getFullName(), STUDENT_MATCHES);
         studentSelector.setFont(FONT_UI);
         studentSelector.setMaximumSize(new Dimension(Integer.MAX_VALUE, 35));
 
@@ -763,6 +966,13 @@ public class MainApp extends JFrame {
         lblCourse.setFont(FONT_UI);
         courseSelector = new JComboBox<>();
         courseSelector.setFont(FONT_UI);
+        courseSelector.setRenderer(new DefaultListCellRenderer() {
+            @Override public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean hasFocus) {
+                Course c = (Course) value;
+                String text = c == null ? "" : c.getCourseCode() + " - " + c.getCourseName();
+                return super.getListCellRendererComponent(list, text, index, isSelected, hasFocus);
+            }
+        });
         courseSelector.setMaximumSize(new Dimension(Integer.MAX_VALUE, 35));
 
         // Grade Fields
@@ -806,7 +1016,32 @@ public class MainApp extends JFrame {
         buttonPanel.add(deleteBtn);
         buttonPanel.add(clearBtn);
 
-        // Load existing grade when student and course selected
+        // Batch edits: Add and Update queue the change locally; Save Pending writes the queue now
+        batchEditsToggle = new JCheckBox("Batch edits");
+        batchEditsToggle.setFont(FONT_UI);
+        batchEditsToggle.setOpaque(false);
+        batchEditsToggle.setToolTipText("Queue edits and save them together every " + FLUSH_INTERVAL_MS / 1000 + " seconds");
+        batchEditsToggle.addActionListener(e -> {
+            if (!batchEditsToggle.isSelected()) flushPendingGrades();
+        });
+        pendingEditsLabel = new JLabel();
+        pendingEditsLabel.setFont(FONT_UI);
+        pendingEditsLabel.setForeground(TEXT_DARK);
+        JButton savePendingBtn = createOutlinedButton("Save Pending");
+        savePendingBtn.addActionListener(e -> flushPendingGrades());
+        JPanel queuePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        queuePanel.setOpaque(false);
+        queuePanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
+        queuePanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        queuePanel.add(batchEditsToggle);
+        queuePanel.add(savePendingBtn);
+        queuePanel.add(pendingEditsLabel);
+        updatePendingEditsLabel();
+        flushTimer = new javax.swing.Timer(FLUSH_INTERVAL_MS, e -> flushPendingGrades());
+
+        // Load existing grade when student and course selected; database lookups wait for the selection to settle
+        gradeLookupTimer = new javax.swing.Timer(GRADE_LOOKUP_DELAY_MS, e -> queryExistingGrade());
+        gradeLookupTimer.setRepeats(false);
         ActionListener loadGradeListener = e -> loadExistingGrade();
         studentSelector.addActionListener(loadGradeListener);
         courseSelector.addActionListener(loadGradeListener);
@@ -838,6 +1073,8 @@ public class MainApp extends JFrame {
         panel.add(remarksField);
         panel.add(Box.createVerticalStrut(20));
         panel.add(buttonPanel);
+        panel.add(Box.createVerticalStrut(10));
+        panel.add(queuePanel);
 
         return panel;
     }
@@ -851,18 +1088,21 @@ public class MainApp extends JFrame {
         tableTitle.setForeground(TEXT_DARK);
         tableTitle.setBorder(new EmptyBorder(0, 0, 10, 0));
 
-        String[] columns = {"ID", "Student", "Course Code", "Course Name", "Prelim", "Midterm", "Finals", "Remarks"};
-        teacherGradesTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int col) {
-                return false;
-            }
-        };
+        // Rows are fetched page by page as the table scrolls; only a window of pages stays in memory
+        teacherGradesTableModel = new PagedGradesTableModel(gradeDAO, teacherTasks, 200, 10);
 
         JTable table = new JTable(teacherGradesTableModel);
         styleGradesTable(table);
         table.getColumnModel().getColumn(0).setPreferredWidth(50);
         table.getColumnModel().getColumn(0).setMaxWidth(70);
+        // Table columns are in the same order as GradeListQuery.Column
+        SortableHeader.install(table, sort -> {
+            List<GradeListQuery.SortKey> keys = new ArrayList<>();
+            for (SortableHeader.SortColumn c : sort) {
+                keys.add(new GradeListQuery.SortKey(GradeListQuery.Column.values()[c.getColumn()], c.isAscending()));
+            }
+            showTeacherGrades(teacherGradesTableModel.getRequestedQuery().sortedBy(keys));
+        });
 
         JScrollPane scroll = new JScrollPane(table);
         scroll.setBorder(new LineBorder(ACCENT_PRIMARY, 1));
@@ -872,188 +1112,417 @@ public class MainApp extends JFrame {
         JButton refreshBtn = createOutlinedButton("Refresh");
         refreshBtn.addActionListener(e -> loadAllGradesIntoTable());
         topPanel.add(refreshBtn);
-
-        panel.add(topPanel, BorderLayout.NORTH);
+        JButton importBtn = createOutlinedButton("Import CSV");
+        JLabel importStatus = new JLabel();
+        importStatus.setForeground(TEXT_DARK);
+        importBtn.addActionListener(e -> importGradesCsv(importBtn, importStatus));
+        topPanel.add(importBtn);
+        JButton analyticsBtn = createOutlinedButton("Course Analytics");
+        analyticsBtn.addActionListener(e -> showCourseAnalytics());
+        topPanel.add(analyticsBtn);
+        topPanel.add(importStatus);
+
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.setBackground(BG_LIGHT);
+        courseFilter = new JComboBox<>(new String[]{ALL_COURSES});
+        courseFilter.setFont(FONT_UI);
+        JTextField remarksFilter = createFilterField("Remarks", 10);
+        JTextField minFilter = createFilterField("Min", 4);
+        JTextField maxFilter = createFilterField("Max", 4);
+        JButton applyFilter = createOutlinedButton("Apply Filter");
+        applyFilter.addActionListener(e -> {
+            Double min, max;
+            try {
+                min = readGradeBound(minFilter);
+                max = readGradeBound(maxFilter);
+            } catch (NumberFormatException ex) {
+                showMessage("Grade range must be numbers.", "Filter", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            String course = courseFilter.getSelectedIndex() > 0 ? (String) courseFilter.getSelectedItem() : null;
+            showTeacherGrades(teacherGradesTableModel.getRequestedQuery().filtered(course, remarksFilter.getText(), min, max));
+        });
+        JButton clearFilter = createOutlinedButton("Clear Filter");
+        clearFilter.addActionListener(e -> {
+            courseFilter.setSelectedIndex(0);
+            remarksFilter.setText("");
+            minFilter.setText("");
+            maxFilter.setText("");
+            showTeacherGrades(teacherGradesTableModel.getRequestedQuery().filtered(null, null, null, null));
+        });
+        filterPanel.add(new JLabel("Course:"));
+        filterPanel.add(courseFilter);
+        filterPanel.add(remarksFilter);
+        filterPanel.add(new JLabel("Grade:"));
+        filterPanel.add(minFilter);
+        filterPanel.add(new JLabel("to"));
+        filterPanel.add(maxFilter);
+        filterPanel.add(applyFilter);
+        filterPanel.add(clearFilter);
+
+        JPanel north = new JPanel(new GridLayout(2, 1));
+        north.setBackground(BG_LIGHT);
+        north.add(topPanel);
+        north.add(filterPanel);
+
+        panel.add(north, BorderLayout.NORTH);
         panel.add(scroll, BorderLayout.CENTER);
 
         return panel;
     }
 
     // =================== TEACHER PORTAL DATA OPERATIONS ===================
+    // Issues the three portal queries concurrently; each section renders as soon as its own data arrives.
     private void loadTeacherPortalData() {
-        loadStudentList();
-        loadCourseList();
-        loadAllGradesIntoTable();
-    }
-
-    private void loadStudentList() {
-        studentSelector.removeAllItems();
-        String sql = "SELECT id, student_number, full_name FROM students ORDER BY full_name";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                String display = rs.getString("student_number") + " - " + rs.getString("full_name");
-                studentSelector.addItem(display);
-            }
-        } catch (SQLException ex) {
+        LoadTimer timer = new LoadTimer("ui.teacher-portal", 3);
+        studentIndex = StudentSearchIndex.EMPTY;
+        studentSelector.setSelectedItem(null);
+        loadStudentIndex(studentIndex, 0, timer);
+        teacherTasks.run(gradeDAO::getCourses, courses -> {
+            populateCourseList(courses);
+            timer.sectionLoaded("courses");
+        }, ex -> {
+            timer.sectionFailed("courses");
             ex.printStackTrace();
-        }
+        });
+        teacherGradesTableModel.reload(() -> timer.sectionLoaded("grades"), () -> timer.sectionFailed("grades"));
+        openWriteQueue();
     }
 
-    private void loadCourseList() {
-        courseSelector.removeAllItems();
-        String sql = "SELECT DISTINCT course_code, course_name FROM grades ORDER BY course_code";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                String display = rs.getString("course_code") + " - " + rs.getString("course_name");
-                courseSelector.addItem(display);
+    // Fetches and indexes the roster one page at a time on the worker, publishing after each page
+    // so the student search works before the whole roster is in.
+    private void loadStudentIndex(StudentSearchIndex base, int afterId, LoadTimer timer) {
+        teacherTasks.run(() -> {
+            List<Student> page = studentDAO.getStudentPage(afterId, STUDENT_PAGE_SIZE);
+            return new IndexedPage(base.plus(page), page.size() < STUDENT_PAGE_SIZE ? -1 : page.get(page.size() - 1).getId());
+        }, indexed -> {
+            studentIndex = indexed.index;
+            studentSelector.refreshMatches();
+            if (indexed.nextAfterId == -1) {
+                timer.sectionLoaded("students");
+            } else {
+                loadStudentIndex(indexed.index, indexed.nextAfterId, timer);
             }
-        } catch (SQLException ex) {
+        }, ex -> {
+            timer.sectionFailed("students");
             ex.printStackTrace();
+        });
+    }
+
+    private void populateCourseList(List<Course> courses) {
+        populatingSelectors = true;
+        Object filtered = courseFilter.getSelectedItem();
+        try {
+            courseSelector.removeAllItems();
+            courseFilter.removeAllItems();
+            courseFilter.addItem(ALL_COURSES);
+            for (Course c : courses) {
+                courseSelector.addItem(c);
+                courseFilter.addItem(c.getCourseCode());
+            }
+            courseFilter.setSelectedItem(filtered);
+        } finally {
+            populatingSelectors = false;
         }
+        loadExistingGrade();
     }
 
     private void loadAllGradesIntoTable() {
-        teacherGradesTableModel.setRowCount(0);
-        String sql = "SELECT g.id, s.full_name, g.course_code, g.course_name, g.prelim, g.midterm, g.finals, g.remarks " +
-                     "FROM grades g JOIN students s ON g.student_id = s.id ORDER BY s.full_name, g.course_code";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                Object[] row = {
-                    rs.getInt("id"),
-                    rs.getString("full_name"),
-                    rs.getString("course_code"),
-                    rs.getString("course_name"),
-                    rs.getObject("prelim"),
-                    rs.getObject("midterm"),
-                    rs.getObject("finals"),
-                    rs.getString("remarks")
-                };
-                teacherGradesTableModel.addRow(row);
+        gradeLookupCache.clear();
+        teacherGradesTableModel.reload();
+    }
+
+    // Re-queries the listing in the new order or filter; the current rows stay up until it arrives.
+    private void showTeacherGrades(GradeListQuery query) {
+        teacherGradesTableModel.setQuery(query, null);
+    }
+
+    // Columns: student_number, course_code, course_name, prelim, midterm, finals, remarks (header row optional)
+    private void importGradesCsv(JButton importBtn, JLabel importStatus) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Grades CSV");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        File file = chooser.getSelectedFile();
+        importBtn.setEnabled(false);
+        importStatus.setText("Importing...");
+        teacherTasks.run(() -> new GradeCsvImporter().importFile(file, rows ->
+                SwingUtilities.invokeLater(() -> importStatus.setText("Importing... " + rows + " rows"))), result -> {
+            importBtn.setEnabled(true);
+            importStatus.setText("");
+            StringBuilder msg = new StringBuilder();
+            msg.append("Imported ").append(result.getRowsImported()).append(" of ").append(result.getRowsRead()).append(" rows.");
+            if (result.getErrorCount() > 0) {
+                msg.append("\n").append(result.getErrorCount()).append(" row(s) were skipped:");
+                List<String> errors = result.getErrors();
+                for (int i = 0; i < Math.min(20, errors.size()); i++) msg.append("\n").append(errors.get(i));
+                if (result.getErrorCount() > 20) msg.append("\n...");
             }
-        } catch (SQLException ex) {
+            showMessage(msg.toString(), "Import Grades",
+                    result.getErrorCount() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+            courseAnalytics.invalidateAll();
+            loadAllGradesIntoTable();
+            teacherTasks.run(gradeDAO::getCourses, this::populateCourseList, Throwable::printStackTrace);
+        }, ex -> {
+            importBtn.setEnabled(true);
+            importStatus.setText("");
+            showMessage("Import failed:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
-        }
+        });
     }
 
-    private void loadExistingGrade() {
-        if (studentSelector.getSelectedItem() == null || courseSelector.getSelectedItem() == null) return;
+    // Per-course statistics in a dialog; Refresh drops every cached course and recomputes.
+    private void showCourseAnalytics() {
+        String[] columns = {"Course", "Students", "Mean", "Median", "Std Dev", "P25", "P75", "P90", "Passed", "Failed", "No Finals"};
+        DefaultTableModel tm = new DefaultTableModel(columns, 0) {
+            @Override public boolean isCellEditable(int row, int col) { return false; }
+        };
+        JTable table = new JTable(tm);
+        styleGradesTable(table);
+        table.getColumnModel().getColumn(0).setPreferredWidth(220);
+
+        JDialog dialog = new JDialog(this, "Course Analytics", false);
+        JLabel status = new JLabel("Loading...");
+        status.setForeground(TEXT_DARK);
+        JButton refresh = createOutlinedButton("Refresh");
+        refresh.addActionListener(e -> {
+            courseAnalytics.invalidateAll();
+            loadCourseAnalytics(tm, status);
+        });
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        top.setBackground(BG_LIGHT);
+        top.add(refresh);
+        top.add(status);
+
+        dialog.getContentPane().setBackground(BG_LIGHT);
+        dialog.add(top, BorderLayout.NORTH);
+        dialog.add(new JScrollPane(table), BorderLayout.CENTER);
+        dialog.setSize(1000, 500);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        loadCourseAnalytics(tm, status);
+    }
 
-        String studentInfo = (String) studentSelector.getSelectedItem();
-        String courseInfo = (String) courseSelector.getSelectedItem();
-        
-        String studentNumber = studentInfo.split(" - ")[0];
-        String courseCode = courseInfo.split(" - ")[0];
-
-        String sql = "SELECT prelim, midterm, finals, remarks FROM grades g " +
-                     "JOIN students s ON g.student_id = s.id " +
-                     "WHERE s.student_number = ? AND g.course_code = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, studentNumber);
-            ps.setString(2, courseCode);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Object prelim = rs.getObject("prelim");
-                    Object midterm = rs.getObject("midterm");
-                    Object finals = rs.getObject("finals");
-                    String remarks = rs.getString("remarks");
-
-                    prelimField.setText(prelim != null ? prelim.toString() : "");
-                    midtermField.setText(midterm != null ? midterm.toString() : "");
-                    finalsField.setText(finals != null ? finals.toString() : "");
-                    remarksField.setText(remarks != null ? remarks : "");
-                } else {
-                    clearGradeForm();
-                }
+    private void loadCourseAnalytics(DefaultTableModel tm, JLabel status) {
+        status.setText("Loading...");
+        long start = System.nanoTime();
+        teacherTasks.run(courseAnalytics::getAllCourseStats, stats -> {
+            tm.setRowCount(0);
+            for (CourseAnalytics.CourseStats cs : stats) {
+                tm.addRow(new Object[]{
+                        cs.getCourseCode() + (cs.getCourseName() == null ? "" : " - " + cs.getCourseName()),
+                        cs.getStudents(), formatStat(cs.getMean()), formatStat(cs.getMedian()), formatStat(cs.getStddev()),
+                        formatStat(cs.getP25()), formatStat(cs.getP75()), formatStat(cs.getP90()),
+                        cs.getPassed(), cs.getFailed(), cs.getMissingFinals()});
             }
-        } catch (SQLException ex) {
+            status.setText(stats.size() + " courses, passing grade " + formatStat(CourseAnalytics.PASSING_GRADE)
+                    + " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        }, ex -> {
+            status.setText("Failed to load analytics.");
             ex.printStackTrace();
-        }
+        });
     }
 
-    private void addGrade() {
-        if (!validateGradeForm()) return;
+    private static String formatStat(double v) {
+        return Double.isNaN(v) ? "—" : String.format(Locale.ENGLISH, "%.2f", v);
+    }
 
-        String studentInfo = (String) studentSelector.getSelectedItem();
-        String courseInfo = (String) courseSelector.getSelectedItem();
-        String studentNumber = studentInfo.split(" - ")[0];
-        String courseCode = courseInfo.split(" - ")[0];
-        String courseName = courseInfo.split(" - ")[1];
+    // Fills the form for the selected student and course: right away when the grade is cached or
+    // on a loaded table page, otherwise from the database once the selection stops changing.
+    private void loadExistingGrade() {
+        if (populatingSelectors) return;
+        if (studentSelector.getSelectedItem() == null || courseSelector.getSelectedItem() == null) return;
 
-        // Get student ID
-        int studentId = getStudentIdByNumber(studentNumber);
-        if (studentId == -1) {
-            showMessage("Student not found.", "Error", JOptionPane.ERROR_MESSAGE);
+        int studentId = studentSelector.getSelectedItem().getId();
+        String courseCode = ((Course) courseSelector.getSelectedItem()).getCourseCode();
+        Grade queued = findQueuedGrade(studentId, courseCode);
+        if (queued != null) {
+            gradeLookupTimer.stop();
+            showGradeInForm(queued);
             return;
         }
-
-        // Check if grade already exists
-        if (gradeExists(studentId, courseCode)) {
-            showMessage("Grade already exists for this student and course. Use Update instead.", "Error", JOptionPane.WARNING_MESSAGE);
+        Grade known = findKnownGrade(studentId, courseCode);
+        if (known == null) {
+            gradeLookupTimer.restart();
             return;
         }
+        gradeLookupTimer.stop();
+        showGradeInForm(known == NO_GRADE ? null : known);
+    }
 
-        String sql = "INSERT INTO grades (student_id, course_code, course_name, prelim, midterm, finals, remarks) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, studentId);
-            ps.setString(2, courseCode);
-            ps.setString(3, courseName);
-            ps.setObject(4, getDoubleOrNull(prelimField.getText()));
-            ps.setObject(5, getDoubleOrNull(midtermField.getText()));
-            ps.setObject(6, getDoubleOrNull(finalsField.getText()));
-            ps.setString(7, remarksField.getText().trim());
-            ps.executeUpdate();
-            showMessage("Grade added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadAllGradesIntoTable();
+    private Grade findQueuedGrade(int studentId, String courseCode) {
+        return writeQueue == null ? null : writeQueue.getPending(studentId, courseCode);
+    }
+
+    private Grade findKnownGrade(int studentId, String courseCode) {
+        String key = gradeLookupKey(studentId, courseCode);
+        Grade g = gradeLookupCache.get(key);
+        if (g == null) {
+            g = teacherGradesTableModel.findLoadedGrade(studentId, courseCode);
+            if (g != null) gradeLookupCache.put(key, g);
+        }
+        return g;
+    }
+
+    private void rememberGrade(int studentId, String courseCode, Grade g) {
+        gradeLookupCache.put(gradeLookupKey(studentId, courseCode), g == null ? NO_GRADE : g);
+    }
+
+    private static String gradeLookupKey(int studentId, String courseCode) {
+        return studentId + ":" + courseCode;
+    }
+
+    private void showGradeInForm(Grade g) {
+        if (g != null) {
+            prelimField.setText(g.getPrelim() != null ? g.getPrelim().toString() : "");
+            midtermField.setText(g.getMidterm() != null ? g.getMidterm().toString() : "");
+            finalsField.setText(g.getFinals() != null ? g.getFinals().toString() : "");
+            remarksField.setText(g.getRemarks() != null ? g.getRemarks() : "");
+        } else {
             clearGradeForm();
-        } catch (SQLException ex) {
+        }
+    }
+
+    private void queryExistingGrade() {
+        if (studentSelector.getSelectedItem() == null || courseSelector.getSelectedItem() == null) return;
+
+        Student student = studentSelector.getSelectedItem();
+        Course course = (Course) courseSelector.getSelectedItem();
+        String courseCode = course.getCourseCode();
+
+        teacherTasks.run(() -> gradeDAO.getListingRow(student.getId(), courseCode), g -> {
+            rememberGrade(student.getId(), courseCode, g);
+            // Ignore answers for a selection the teacher has already moved away from
+            if (student != studentSelector.getSelectedItem() || course != courseSelector.getSelectedItem()) return;
+            showGradeInForm(g);
+        }, Throwable::printStackTrace);
+    }
+
+    private Grade readGradeForm(String courseCode, String courseName) {
+        Grade g = new Grade();
+        g.setCourseCode(courseCode);
+        g.setCourseName(courseName);
+        g.setPrelim(getDoubleOrNull(prelimField.getText()));
+        g.setMidterm(getDoubleOrNull(midtermField.getText()));
+        g.setFinals(getDoubleOrNull(finalsField.getText()));
+        g.setRemarks(remarksField.getText().trim());
+        return g;
+    }
+
+    private void addGrade() {
+        if (!validateGradeForm()) return;
+
+        int studentId = studentSelector.getSelectedItem().getId();
+        Course course = (Course) courseSelector.getSelectedItem();
+        String courseCode = course.getCourseCode();
+        Grade grade = readGradeForm(courseCode, course.getCourseName());
+        grade.setStudentId(studentId);
+        if (batchEditsToggle.isSelected()) {
+            Grade known = findKnownGrade(studentId, courseCode);
+            if (findQueuedGrade(studentId, courseCode) == null && known != null && known != NO_GRADE) {
+                showMessage("Grade already exists for this student and course. Use Update instead.", "Error", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            queueGradeEdit(grade, GradeDAO.NEW_GRADE);
+            return;
+        }
+        GradeListQuery listing = teacherGradesTableModel.getQuery();
+
+        teacherTasks.run(() -> {
+            GradeDAO.SaveResult saved = gradeDAO.saveGrade(grade, GradeDAO.NEW_GRADE);
+            if (saved.getStatus() == GradeDAO.SaveStatus.CONFLICT) return WriteResult.conflict(saved.getRow());
+            return WriteResult.at(saved.getRow(), gradeDAO, listing);
+        }, result -> {
+            switch (result.outcome) {
+                case CONFLICT:
+                    // Keep what was typed; with the stored version known, Update can now overwrite it
+                    rememberGrade(studentId, courseCode, result.row);
+                    showMessage("Grade already exists for this student and course. Use Update instead.", "Error", JOptionPane.WARNING_MESSAGE);
+                    break;
+                default:
+                    showMessage("Grade added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    courseAnalytics.invalidate(courseCode);
+                    rememberGrade(result.row.getStudentId(), courseCode, result.row);
+                    teacherGradesTableModel.applyInsert(listing, result.row, result.index);
+                    clearGradeForm();
+            }
+        }, ex -> {
             showMessage("Error adding grade:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
-        }
+        });
     }
 
     private void updateGrade() {
         if (!validateGradeForm()) return;
 
-        String studentInfo = (String) studentSelector.getSelectedItem();
-        String courseInfo = (String) courseSelector.getSelectedItem();
-        String studentNumber = studentInfo.split(" - ")[0];
-        String courseCode = courseInfo.split(" - ")[0];
-
-        int studentId = getStudentIdByNumber(studentNumber);
-        if (studentId == -1) {
-            showMessage("Student not found.", "Error", JOptionPane.ERROR_MESSAGE);
+        int studentId = studentSelector.getSelectedItem().getId();
+        String courseCode = ((Course) courseSelector.getSelectedItem()).getCourseCode();
+        // The row the form was filled from; its version is what the save checks against
+        Grade known = findKnownGrade(studentId, courseCode);
+        boolean queued = batchEditsToggle.isSelected() && findQueuedGrade(studentId, courseCode) != null;
+        if (known == NO_GRADE && !queued) {
+            showMessage("No grade found to update. Use Add instead.", "Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-
-        String sql = "UPDATE grades SET prelim = ?, midterm = ?, finals = ?, remarks = ? WHERE student_id = ? AND course_code = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setObject(1, getDoubleOrNull(prelimField.getText()));
-            ps.setObject(2, getDoubleOrNull(midtermField.getText()));
-            ps.setObject(3, getDoubleOrNull(finalsField.getText()));
-            ps.setString(4, remarksField.getText().trim());
-            ps.setInt(5, studentId);
-            ps.setString(6, courseCode);
-            int updated = ps.executeUpdate();
-            if (updated > 0) {
-                showMessage("Grade updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadAllGradesIntoTable();
-                clearGradeForm();
+        Grade grade = readGradeForm(courseCode, null);
+        grade.setStudentId(studentId);
+        if (batchEditsToggle.isSelected()) {
+            if (queued) {
+                // The queue keeps the version the first queued edit was based on
+                queueGradeEdit(grade, GradeDAO.NEW_GRADE);
+            } else if (known == null) {
+                showMessage("This grade is still loading; try again in a moment.", "Please Wait", JOptionPane.INFORMATION_MESSAGE);
             } else {
-                showMessage("No grade found to update. Use Add instead.", "Error", JOptionPane.WARNING_MESSAGE);
+                queueGradeEdit(grade, known.getVersion());
+            }
+            return;
+        }
+        if (known == null) {
+            showMessage("This grade is still loading; try again in a moment.", "Please Wait", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        GradeListQuery listing = teacherGradesTableModel.getQuery();
+        // Most edits leave the row where it was; one that moves it, or takes it in or out of the
+        // filter, is taken from its loaded position, or counted when its page is not loaded
+        boolean moves = !listing.samePlace(known, GradeDAO.updatedRow(known, grade, known.getVersion()));
+        int loadedAt = moves ? teacherGradesTableModel.indexOfLoaded(known) : -1;
+
+        teacherTasks.run(() -> {
+            int from = !moves || loadedAt >= 0 || !listing.matches(known) ? loadedAt : WriteResult.indexOf(known, gradeDAO, listing);
+            GradeDAO.SaveResult saved = gradeDAO.updateGrade(known, grade);
+            if (saved.getStatus() == GradeDAO.SaveStatus.CONFLICT) {
+                // No row means someone else deleted the grade; it is not written back
+                return saved.getRow() == null ? WriteResult.of(WriteOutcome.NOT_FOUND) : WriteResult.conflict(saved.getRow());
+            }
+            return moves ? WriteResult.moved(saved.getRow(), from, gradeDAO, listing) : WriteResult.updated(saved.getRow());
+        }, result -> {
+            switch (result.outcome) {
+                case NOT_FOUND:
+                    rememberGrade(studentId, courseCode, null);
+                    showMessage("No grade found to update. Use Add instead.", "Error", JOptionPane.WARNING_MESSAGE);
+                    break;
+                case CONFLICT:
+                    rememberGrade(studentId, courseCode, result.row);
+                    if (result.row != null) teacherGradesTableModel.applyUpdate(result.row);
+                    showGradeInForm(result.row);
+                    showMessage("This grade was changed by someone else after you opened it.\n" +
+                            "The form now shows the saved values; re-enter your changes and update again.", "Conflict", JOptionPane.WARNING_MESSAGE);
+                    break;
+                default:
+                    showMessage("Grade updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    courseAnalytics.invalidate(courseCode);
+                    rememberGrade(result.row.getStudentId(), courseCode, result.row);
+                    if (result.previousIndex == WriteResult.IN_PLACE) {
+                        teacherGradesTableModel.applyUpdate(result.row);
+                    } else {
+                        teacherGradesTableModel.applyMove(listing, result.row, result.previousIndex, result.index);
+                    }
+                    clearGradeForm();
             }
-        } catch (SQLException ex) {
+        }, ex -> {
             showMessage("Error updating grade:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
-        }
+        });
     }
 
     private void deleteGrade() {
@@ -1069,30 +1538,293 @@ public class MainApp extends JFrame {
         
         if (confirm != JOptionPane.YES_OPTION) return;
 
-        String studentInfo = (String) studentSelector.getSelectedItem();
-        String courseInfo = (String) courseSelector.getSelectedItem();
-        String studentNumber = studentInfo.split(" - ")[0];
-        String courseCode = courseInfo.split(" - ")[0];
-
-        int studentId = getStudentIdByNumber(studentNumber);
-        if (studentId == -1) return;
+        int studentId = studentSelector.getSelectedItem().getId();
+        String courseCode = ((Course) courseSelector.getSelectedItem()).getCourseCode();
+        GradeListQuery listing = teacherGradesTableModel.getQuery();
+        // Deletes are never queued; a queued edit for the grade is dropped so it cannot bring it back
+        if (writeQueue != null) {
+            try {
+                writeQueue.discard(studentId, courseCode);
+            } catch (IOException ex) {
+                showMessage("Could not update the pending edits file:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                ex.printStackTrace();
+                return;
+            }
+            updatePendingEditsLabel();
+        }
 
-        String sql = "DELETE FROM grades WHERE student_id = ? AND course_code = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, studentId);
-            ps.setString(2, courseCode);
-            int deleted = ps.executeUpdate();
-            if (deleted > 0) {
-                showMessage("Grade deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadAllGradesIntoTable();
-                clearGradeForm();
-            } else {
-                showMessage("No grade found to delete.", "Error", JOptionPane.WARNING_MESSAGE);
+        teacherTasks.run(() -> {
+            Grade row = gradeDAO.deleteGrade(studentId, courseCode);
+            return row == null ? WriteResult.of(WriteOutcome.NOT_FOUND) : WriteResult.at(row, gradeDAO, listing);
+        }, result -> {
+            switch (result.outcome) {
+                case NOT_FOUND:
+                    showMessage("No grade found to delete.", "Error", JOptionPane.WARNING_MESSAGE);
+                    break;
+                default:
+                    showMessage("Grade deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    courseAnalytics.invalidate(courseCode);
+                    rememberGrade(result.row.getStudentId(), courseCode, null);
+                    teacherGradesTableModel.applyDelete(listing, result.row, result.index);
+                    clearGradeForm();
             }
-        } catch (SQLException ex) {
+        }, ex -> {
             showMessage("Error deleting grade:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
+        });
+    }
+
+    // =================== BATCHED GRADE EDITS ===================
+    // One journal per teacher account, so edits left unsaved on this machine come back at their next login
+    private static Path pendingEditsJournal(int teacherId) {
+        return LOCAL_DATA_DIR.resolve("pending-grades-" + teacherId + ".journal");
+    }
+
+    private void openWriteQueue() {
+        Path journal = pendingEditsJournal(currentTeacherId);
+        teacherTasks.run(() -> GradeWriteQueue.open(gradeDAO, journal), queue -> {
+            writeQueue = queue;
+            updatePendingEditsLabel();
+            if (queue.size() > 0) {
+                batchEditsToggle.setSelected(true);
+                flushTimer.start();
+                showMessage(queue.size() + " unsaved grade edit(s) from your last session were restored.\n" +
+                        "They will be saved with the next batch; use Save Pending to save them now.", "Pending Edits", JOptionPane.INFORMATION_MESSAGE);
+            }
+        }, ex -> {
+            batchEditsToggle.setEnabled(false);
+            showMessage("Batch edits are unavailable; the pending edits file could not be opened:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            ex.printStackTrace();
+        });
+    }
+
+    // Queues the edit instead of saving it. Returns once the edit is on disk.
+    private void queueGradeEdit(Grade grade, long expectedVersion) {
+        if (writeQueue == null) {
+            showMessage("Pending edits are still loading; try again in a moment.", "Please Wait", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        grade.setStudentName(studentSelector.getSelectedItem().getFullName());
+        try {
+            writeQueue.enqueue(grade, expectedVersion);
+        } catch (IOException ex) {
+            showMessage("Could not queue the edit:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            ex.printStackTrace();
+            return;
+        }
+        updatePendingEditsLabel();
+        if (!flushTimer.isRunning()) flushTimer.start();
+        clearGradeForm();
+    }
+
+    // Saves every queued edit in one transaction; conflicts are listed and dropped from the queue.
+    private void flushPendingGrades() {
+        GradeWriteQueue queue = writeQueue;
+        if (queue == null || flushing) return;
+        if (queue.size() == 0) {
+            flushTimer.stop();
+            return;
+        }
+        flushing = true;
+        pendingEditsLabel.setText("Saving " + queue.size() + " pending...");
+        teacherTasks.run(queue::flush, result -> {
+            flushing = false;
+            updatePendingEditsLabel();
+            if (queue.size() == 0) flushTimer.stop();
+            // Rows may have been added, changed or moved anywhere in the listing
+            courseAnalytics.invalidateAll();
+            gradeLookupCache.clear();
+            loadAllGradesIntoTable();
+            if (!result.getConflicts().isEmpty()) showFlushConflicts(result);
+        }, ex -> {
+            flushing = false;
+            updatePendingEditsLabel();
+            showMessage("Could not save pending edits; they are kept and will be retried:\n" + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            ex.printStackTrace();
+        });
+    }
+
+    private void showFlushConflicts(GradeWriteQueue.FlushResult result) {
+        StringBuilder msg = new StringBuilder();
+        msg.append("Saved ").append(result.getSaved()).append(" edit(s). ")
+                .append(result.getConflicts().size()).append(" edit(s) were not saved because the grade was changed or deleted by someone else:");
+        List<GradeWriteQueue.Conflict> conflicts = result.getConflicts();
+        for (int i = 0; i < Math.min(20, conflicts.size()); i++) {
+            GradeWriteQueue.Conflict c = conflicts.get(i);
+            msg.append("\n").append(c.getQueued().getStudentName()).append(" - ").append(c.getQueued().getCourseCode())
+                    .append(": yours ").append(formatGradeValues(c.getQueued()))
+                    .append(c.isDeleted() ? ", grade deleted" : ", saved " + formatGradeValues(c.getCurrent()));
+        }
+        if (conflicts.size() > 20) msg.append("\n...");
+        msg.append("\nRe-enter these changes to apply them; a deleted grade has to be added again.");
+        showMessage(msg.toString(), "Conflicts", JOptionPane.WARNING_MESSAGE);
+    }
+
+    private static String formatGradeValues(Grade g) {
+        return formatGrade(g.getPrelim()) + " / " + formatGrade(g.getMidterm()) + " / " + formatGrade(g.getFinals());
+    }
+
+    private static String formatGrade(Double d) {
+        return d == null ? "-" : d.toString();
+    }
+
+    private void updatePendingEditsLabel() {
+        int pending = writeQueue == null ? 0 : writeQueue.size();
+        pendingEditsLabel.setText(pending == 0 ? "No pending edits" : pending + " pending edit(s)");
+    }
+
+    // A verified student and their dashboard numbers, shown while the grade list loads
+    private static class StudentLogin {
+        final Student student;
+        // Null when a snapshot is already on screen
+        final GradeDAO.GradeSummary summary;
+        final PasswordVerifier verifier;
+
+        StudentLogin(Student student, GradeDAO.GradeSummary summary, PasswordVerifier verifier) {
+            this.student = student;
+            this.summary = summary;
+            this.verifier = verifier;
+        }
+    }
+
+    // What the login screen found on this machine: a cached login and/or a snapshot, each
+    // already checked against the typed password, and the verifier that matched it (if any)
+    private static class LocalLogin {
+        final StudentSnapshot.Owner cached;
+        final StudentSnapshot snapshot;
+        final PasswordVerifier verifier;
+
+        LocalLogin(StudentSnapshot.Owner cached, StudentSnapshot snapshot, PasswordVerifier verifier) {
+            this.cached = cached;
+            this.snapshot = snapshot;
+            this.verifier = verifier;
+        }
+    }
+
+    // A freshly loaded session and the grade watermark read just before it
+    private static class LoadedSession {
+        final StudentSession session;
+        final GradeDAO.GradeWatermark watermark;
+
+        LoadedSession(StudentSession session, GradeDAO.GradeWatermark watermark) {
+            this.session = session;
+            this.watermark = watermark;
+        }
+    }
+
+    // Grade rows changed since the session's watermark, and the watermark read just before them
+    private static class LoadedChanges {
+        final GradeDAO.GradeChanges changes;
+        final GradeDAO.GradeWatermark watermark;
+
+        LoadedChanges(GradeDAO.GradeChanges changes, GradeDAO.GradeWatermark watermark) {
+            this.changes = changes;
+            this.watermark = watermark;
+        }
+    }
+
+    // A thumbnail as last shown, with the hash of the picture it was rendered from
+    private static class CachedPicture {
+        final String hash;
+        final ImageIcon icon;
+
+        CachedPicture(String hash, ImageIcon icon) {
+            this.hash = hash;
+            this.icon = icon;
+        }
+    }
+
+    private enum WriteOutcome { OK, NOT_FOUND, CONFLICT }
+
+    // Outcome of a grade write plus the affected row and its position in the teacher listing
+    // (-1 when the listing's filter leaves it out)
+    private static class WriteResult {
+        // previousIndex of an update that cannot have moved the row
+        static final int IN_PLACE = -2;
+
+        final WriteOutcome outcome;
+        final Grade row;
+        final int index;
+        final int previousIndex;
+
+        private WriteResult(WriteOutcome outcome, Grade row, int index, int previousIndex) {
+            this.outcome = outcome;
+            this.row = row;
+            this.index = index;
+            this.previousIndex = previousIndex;
+        }
+
+        static WriteResult of(WriteOutcome outcome) {
+            return new WriteResult(outcome, null, -1, IN_PLACE);
+        }
+
+        static WriteResult updated(Grade row) {
+            return new WriteResult(WriteOutcome.OK, row, -1, IN_PLACE);
+        }
+
+        // Nothing written; row is the one currently stored, if any
+        static WriteResult conflict(Grade row) {
+            return new WriteResult(WriteOutcome.CONFLICT, row, -1, IN_PLACE);
+        }
+
+        // The factories below run on the worker thread since they ask the database for positions
+
+        // Inserted or deleted row
+        static WriteResult at(Grade row, GradeDAO gradeDAO, GradeListQuery listing) throws SQLException {
+            return new WriteResult(WriteOutcome.OK, row, indexOf(row, gradeDAO, listing), IN_PLACE);
+        }
+
+        // Updated row that was at previousIndex before the write
+        static WriteResult moved(Grade row, int previousIndex, GradeDAO gradeDAO, GradeListQuery listing) throws SQLException {
+            return new WriteResult(WriteOutcome.OK, row, indexOf(row, gradeDAO, listing), previousIndex);
+        }
+
+        static int indexOf(Grade row, GradeDAO gradeDAO, GradeListQuery listing) throws SQLException {
+            return listing.matches(row) ? gradeDAO.countRowsBefore(listing, listing.keyOf(row)) : -1;
+        }
+    }
+
+    // The roster index after one more page, and the id to continue after (-1 when done)
+    private static class IndexedPage {
+        final StudentSearchIndex index;
+        final int nextAfterId;
+
+        IndexedPage(StudentSearchIndex index, int nextAfterId) {
+            this.index = index;
+            this.nextAfterId = nextAfterId;
+        }
+    }
+
+    // Times a screen's concurrently loaded sections into SqlMetrics, so they show up over JMX
+    // next to the queries behind them. Time-to-interactive is recorded once every section has
+    // finished, loaded or failed.
+    private static class LoadTimer {
+        private final String screen;
+        private final long startNanos = System.nanoTime();
+        private int remaining;
+        private boolean anyFailed;
+
+        LoadTimer(String screen, int sections) {
+            this.screen = screen;
+            this.remaining = sections;
+        }
+
+        void sectionLoaded(String section) {
+            finish(section, false);
+        }
+
+        void sectionFailed(String section) {
+            finish(section, true);
+        }
+
+        private void finish(String section, boolean failed) {
+            long elapsed = System.nanoTime() - startNanos;
+            SqlMetrics metrics = DatabaseConnector.getSqlMetrics();
+            metrics.named(screen + "." + section).record(elapsed, failed);
+            anyFailed |= failed;
+            if (--remaining == 0) {
+                metrics.named(screen + ".time-to-interactive").record(elapsed, anyFailed);
+            }
         }
     }
 
@@ -1115,35 +1847,10 @@ public class MainApp extends JFrame {
         return true;
     }
 
-    private int getStudentIdByNumber(String studentNumber) {
-        String sql = "SELECT id FROM students WHERE student_number = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, studentNumber);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("id");
-                }
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
-        return -1;
-    }
-
-    private boolean gradeExists(int studentId, String courseCode) {
-        String sql = "SELECT 1 FROM grades WHERE student_id = ? AND course_code = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, studentId);
-            ps.setString(2, courseCode);
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-        }
-        return false;
+    // Blank means no bound; anything else must parse.
+    private Double readGradeBound(JTextField field) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? null : Double.valueOf(text);
     }
 
     private Double getDoubleOrNull(String text) {
@@ -1236,29 +1943,37 @@ public class MainApp extends JFrame {
             contentLayout.show(contentPanel, "Dashboard");
             updateDashboardStats();
         });
-        btnGrades.addActionListener(e -> {
-            contentLayout.show(contentPanel, "Grades");
-            refreshGradesForCurrentStudent();
-        });
+        btnGrades.addActionListener(e -> contentLayout.show(contentPanel, "Grades"));
         btnGWA.addActionListener(e -> contentLayout.show(contentPanel, "GWA"));
-        btnSettings.addActionListener(e -> contentLayout.show(contentPanel, "Settings"));
+        btnSettings.addActionListener(e -> {
+            contentLayout.show(contentPanel, "Settings");
+            loadProfilePicture(currentStudentId, true);
+        });
         btnLogout.addActionListener(e -> {
-            currentStudentId = -1;
-            currentStudentName = "";
-            lblProfilePicTop.setIcon(loadIconResource("/assets/default_profile.png", 40, 40));
-            gradeRecords.clear();
-            gradesPerTerm.clear();
-            enrolledCourses.clear();
-            recentGradesQueue.clear();
-            if (gradesTableModel != null) gradesTableModel.setRowCount(0);
-            if (lblGwaStat != null) lblGwaStat.setText("—");
-            if (lblCoursesStat != null) lblCoursesStat.setText("—");
+            logoutStudent();
             mainLayout.show(rootPanel, "RoleSelection");
         });
 
         return mainPanel;
     }
 
+    private void logoutStudent() {
+        studentTasks.cancelAll();
+        currentStudentId = -1;
+        currentStudentName = "";
+        snapshotOwner = null;
+        lblProfilePicTop.setIcon(loadIconResource("/assets/default_profile.png", 40, 40));
+        showProfilePlaceholder(lblProfilePicSettings, 120);
+        studentSession = null;
+        sessionWatermark = null;
+        dashboardStats.clear();
+        if (gradesTableModel != null) gradesTableModel.clear();
+        if (recentGradesTableModel != null) recentGradesTableModel.setRowCount(0);
+        if (lblGwaStat != null) lblGwaStat.setText("—");
+        if (lblCoursesStat != null) lblCoursesStat.setText("—");
+        if (lblCurrentGwa != null) lblCurrentGwa.setText("Current GWA: —");
+    }
+
     // =================== STUDENT SCREENS (unchanged) ===================
     private JPanel createDashboardPanel() {
         JPanel panel = createCardPanel();
@@ -1269,6 +1984,7 @@ public class MainApp extends JFrame {
         hello.setForeground(TEXT_DARK);
         hello.setAlignmentX(Component.CENTER_ALIGNMENT);
         hello.setBorder(new EmptyBorder(30, 0, 10, 0));
+        lblWelcome = hello;
 
         JPanel stats = new JPanel(new GridLayout(1, 2, 30, 0));
         stats.setOpaque(false);
@@ -1283,7 +1999,8 @@ public class MainApp extends JFrame {
         recentLabel.setForeground(TEXT_DARK);
         recentLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        JTable table = new JTable(new DefaultTableModel(new Object[]{"Course", "Grade", "Remarks"}, 0));
+        recentGradesTableModel = new DefaultTableModel(new Object[]{"Course", "Grade", "Remarks"}, 0);
+        JTable table = new JTable(recentGradesTableModel);
         styleGradesTable(table);
 
         JScrollPane scroll = new JScrollPane(table);
@@ -1311,14 +2028,20 @@ public class MainApp extends JFrame {
         panel.setLayout(new BorderLayout());
         panel.setBackground(BG_LIGHT);
 
-        String[] columns = {"Course Code", "Course Name", "Prelim", "Midterm", "Finals", "Remarks"};
-        DefaultTableModel tm = new DefaultTableModel(columns, 0) {
-            @Override public boolean isCellEditable(int row, int col) { return false; }
-        };
+        StudentGradesTableModel tm = new StudentGradesTableModel();
         gradesTableModel = tm;
 
         JTable table = new JTable(tm);
         styleGradesTable(table);
+        // Table columns are in the same order as the first GradeViewEngine.Column values
+        gradesSortHeader = SortableHeader.install(table, sort -> {
+            List<GradeViewEngine.SortKey> keys = new ArrayList<>();
+            for (SortableHeader.SortColumn c : sort) {
+                keys.add(new GradeViewEngine.SortKey(GradeViewEngine.Column.values()[c.getColumn()], c.isAscending()));
+            }
+            studentSort = keys;
+            showStudentGrades();
+        });
 
         JScrollPane scroll = new JScrollPane(table);
         scroll.setBorder(new EmptyBorder(16, 36, 16, 36));
@@ -1327,30 +2050,90 @@ public class MainApp extends JFrame {
         JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
         top.setBackground(BG_LIGHT);
         JButton sortCourse = createOutlinedButton("Sort by Course");
-        JButton sortFinal = createOutlinedButton("Sort by Final Grade (MergeSort)");
-        top.add(sortCourse); top.add(sortFinal);
-
-        panel.add(top, BorderLayout.NORTH);
+        JButton sortFinal = createOutlinedButton("Sort by Final Grade");
+        JButton refresh = createOutlinedButton("Refresh");
+        refresh.addActionListener(e -> refreshStudentSession());
+        top.add(sortCourse); top.add(sortFinal); top.add(refresh);
+
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.setBackground(BG_LIGHT);
+        JTextField courseFilterField = createFilterField("Course", 10);
+        JTextField remarksFilter = createFilterField("Remarks", 10);
+        JTextField minFilter = createFilterField("Min", 4);
+        JTextField maxFilter = createFilterField("Max", 4);
+        JButton applyFilter = createOutlinedButton("Apply Filter");
+        applyFilter.addActionListener(e -> {
+            try {
+                studentFilter = new GradeViewEngine.Filter(courseFilterField.getText(), remarksFilter.getText(),
+                        readGradeBound(minFilter), readGradeBound(maxFilter));
+            } catch (NumberFormatException ex) {
+                showMessage("Grade range must be numbers.", "Filter", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            showStudentGrades();
+        });
+        JButton clearFilter = createOutlinedButton("Clear Filter");
+        clearFilter.addActionListener(e -> {
+            courseFilterField.setText("");
+            remarksFilter.setText("");
+            minFilter.setText("");
+            maxFilter.setText("");
+            studentFilter = GradeViewEngine.Filter.NONE;
+            showStudentGrades();
+        });
+        filterPanel.add(courseFilterField);
+        filterPanel.add(remarksFilter);
+        filterPanel.add(new JLabel("Grade:"));
+        filterPanel.add(minFilter);
+        filterPanel.add(new JLabel("to"));
+        filterPanel.add(maxFilter);
+        filterPanel.add(applyFilter);
+        filterPanel.add(clearFilter);
+
+        JPanel north = new JPanel(new GridLayout(2, 1));
+        north.setBackground(BG_LIGHT);
+        north.add(top);
+        north.add(filterPanel);
+
+        panel.add(north, BorderLayout.NORTH);
         panel.add(scroll, BorderLayout.CENTER);
 
-        if (currentStudentId != -1) loadGradesIntoTable(tm);
-
         sortCourse.addActionListener(e -> {
-            if (currentStudentId == -1) return;
-            if (gradeRecords.isEmpty()) loadStudentDataStructures();
-            gradeRecords.sort(Comparator.comparing(gr -> gr.courseCode, String.CASE_INSENSITIVE_ORDER));
-            repopulateGradesTableFromRecords();
+            gradesSortHeader.setSort(Collections.singletonList(new SortableHeader.SortColumn(0, true)));
+            studentSort = Collections.singletonList(new GradeViewEngine.SortKey(GradeViewEngine.Column.COURSE_CODE, true));
+            showStudentGrades();
         });
         sortFinal.addActionListener(e -> {
-            if (currentStudentId == -1) return;
-            if (gradeRecords.isEmpty()) loadStudentDataStructures();
-            gradeRecords = mergeSort(gradeRecords, Comparator.comparing(MainApp::finalComparableNullsLast));
-            repopulateGradesTableFromRecords();
+            // The effective grade has no column of its own, so no header shows the sort
+            gradesSortHeader.setSort(Collections.emptyList());
+            studentSort = Collections.singletonList(new GradeViewEngine.SortKey(GradeViewEngine.Column.EFFECTIVE, true));
+            showStudentGrades();
         });
 
         return panel;
     }
 
+    // Re-sorts and filters the published grades on the worker, then swaps the new order in.
+    private void showStudentGrades() {
+        StudentSession session = studentSession;
+        if (session != null) showStudentGrades(session.getGrades());
+    }
+
+    private void showStudentGrades(GradeColumns grades) {
+        List<GradeViewEngine.SortKey> sort = studentSort;
+        GradeViewEngine.Filter filter = studentFilter;
+        if (sort.isEmpty() && filter.isEmpty()) {
+            gradesTableModel.setGrades(grades, grades.naturalOrder());
+            return;
+        }
+        studentTasks.run(() -> GradeViewEngine.view(grades, sort, filter), order -> {
+            // A newer snapshot or view request supersedes this one
+            StudentSession session = studentSession;
+            if (session == null || session.getGrades() != grades || sort != studentSort || filter != studentFilter) return;
+            gradesTableModel.setGrades(grades, order);
+        }, Throwable::printStackTrace);
+    }
+
     private JPanel createGWAPanel() {
         JPanel panel = createCardPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -1381,6 +2164,11 @@ public class MainApp extends JFrame {
         result.setForeground(TEXT_DARK);
         result.setBorder(new EmptyBorder(10, 0, 10, 0));
 
+        lblCurrentGwa = new JLabel("Current GWA: —", SwingConstants.CENTER);
+        lblCurrentGwa.setFont(FONT_UI);
+        lblCurrentGwa.setForeground(TEXT_BODY);
+        lblCurrentGwa.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         JButton compute = createAccentButton("Compute GWA");
         compute.setAlignmentX(Component.CENTER_ALIGNMENT);
         compute.addActionListener(e -> {
@@ -1396,6 +2184,8 @@ public class MainApp extends JFrame {
         });
 
         panel.add(title);
+        panel.add(lblCurrentGwa);
+        panel.add(Box.createVerticalStrut(10));
         panel.add(fields);
         panel.add(Box.createVerticalStrut(10));
         panel.add(compute);
@@ -1416,10 +2206,11 @@ public class MainApp extends JFrame {
         title.setAlignmentX(Component.CENTER_ALIGNMENT);
         title.setBorder(new EmptyBorder(20, 0, 20, 0));
 
-        // Profile Picture Section
-        JLabel profilePic = new JLabel("👤");
-        profilePic.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 120));
+        // Profile Picture Section (filled by loadProfilePicture when the tab opens)
+        JLabel profilePic = new JLabel();
+        showProfilePlaceholder(profilePic, 120);
         profilePic.setAlignmentX(Component.CENTER_ALIGNMENT);
+        lblProfilePicSettings = profilePic;
 
         JPanel profileButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
         profileButtonPanel.setOpaque(false);
@@ -1496,39 +2287,35 @@ public class MainApp extends JFrame {
         chooser.setDialogTitle("Select Profile Picture");
         int result = chooser.showOpenDialog(this);
         
-        if (result == JFileChooser.APPROVE_OPTION) {
+        if (result == JFileChooser.APPROVE_OPTION && currentStudentId != -1) {
             File file = chooser.getSelectedFile();
-            try {
+            int studentId = currentStudentId;
+            studentTasks.run(() -> {
                 byte[] bytes = java.nio.file.Files.readAllBytes(file.toPath());
+                byte[][] thumbs = ProfileThumbnails.render(bytes);
+                if (thumbs == null) throw new java.io.IOException("Not a supported image file");
+                studentDAO.updateProfilePicture(studentId, bytes, thumbs[0], thumbs[1]);
+                return new ImageIcon[]{ProfileThumbnails.toIcon(thumbs[0]), ProfileThumbnails.toIcon(thumbs[1])};
+            }, icons -> {
+                forgetProfilePictures(studentId);
+                // Update displays
+                ImageIcon topIcon = icons[0];
+                if (topIcon != null) {
+                    lblProfilePicTop.setIcon(topIcon);
+                    lblProfilePicTop.setText("");
+                }
                 
-                if (currentStudentId != -1) {
-                    Connection conn = DatabaseConnector.getConnection();
-                    PreparedStatement ps = conn.prepareStatement("UPDATE students SET profile_pic = ? WHERE id = ?");
-                    ps.setBytes(1, bytes);
-                    ps.setInt(2, currentStudentId);
-                    ps.executeUpdate();
-                    ps.close();
-                    conn.close();
-                    
-                    // Update displays
-                    ImageIcon topIcon = imageFromBytes(bytes, 40, 40);
-                    if (topIcon != null) {
-                        lblProfilePicTop.setIcon(topIcon);
-                        lblProfilePicTop.setText("");
-                    }
-                    
-                    ImageIcon bigIcon = imageFromBytes(bytes, 120, 120);
-                    if (bigIcon != null) {
-                        profilePicLabel.setIcon(bigIcon);
-                        profilePicLabel.setText("");
-                    }
-                    
-                    showMessage("Profile picture updated!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                ImageIcon bigIcon = icons[1];
+                if (bigIcon != null) {
+                    profilePicLabel.setIcon(bigIcon);
+                    profilePicLabel.setText("");
                 }
-            } catch (Exception ex) {
+                
+                showMessage("Profile picture updated!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            }, ex -> {
                 ex.printStackTrace();
                 showMessage("Failed to update picture: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }
 
@@ -1540,28 +2327,18 @@ public class MainApp extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (confirm == JOptionPane.YES_OPTION && currentStudentId != -1) {
-            try {
-                Connection conn = DatabaseConnector.getConnection();
-                PreparedStatement ps = conn.prepareStatement("UPDATE students SET profile_pic = NULL WHERE id = ?");
-                ps.setInt(1, currentStudentId);
-                ps.executeUpdate();
-                ps.close();
-                conn.close();
-                
+            int studentId = currentStudentId;
+            studentTasks.run(() -> studentDAO.updateProfilePicture(studentId, null, null, null), removed -> {
+                forgetProfilePictures(studentId);
                 // Reset to emoji
-                lblProfilePicTop.setIcon(null);
-                lblProfilePicTop.setText("👤");
-                lblProfilePicTop.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 32));
-                
-                profilePicLabel.setIcon(null);
-                profilePicLabel.setText("👤");
-                profilePicLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 120));
+                showProfilePlaceholder(lblProfilePicTop, 32);
+                showProfilePlaceholder(profilePicLabel, 120);
                 
                 showMessage("Profile picture removed!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (SQLException ex) {
+            }, ex -> {
                 ex.printStackTrace();
                 showMessage("Failed to remove picture: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }
 
@@ -1587,46 +2364,31 @@ public class MainApp extends JFrame {
         }
         
         if (currentStudentId != -1) {
-            try {
-                Connection conn = DatabaseConnector.getConnection();
-                
-                // Check current password
-                PreparedStatement checkPs = conn.prepareStatement("SELECT password FROM students WHERE id = ?");
-                checkPs.setInt(1, currentStudentId);
-                ResultSet rs = checkPs.executeQuery();
-                
-                if (rs.next()) {
-                    String dbPassword = rs.getString("password");
-                    if (!dbPassword.equals(currentPassword)) {
-                        showMessage("Current password is incorrect.", "Error", JOptionPane.ERROR_MESSAGE);
-                        rs.close();
-                        checkPs.close();
-                        conn.close();
-                        return;
-                    }
-                    
-                    // Update password
-                    PreparedStatement updatePs = conn.prepareStatement("UPDATE students SET password = ? WHERE id = ?");
-                    updatePs.setString(1, newPassword);
-                    updatePs.setInt(2, currentStudentId);
-                    updatePs.executeUpdate();
-                    updatePs.close();
-                    
-                    currentPwdField.setText("");
-                    newPwdField.setText("");
-                    confirmPwdField.setText("");
-                    
-                    showMessage("Password changed successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            int studentId = currentStudentId;
+            StudentSnapshot.Owner owner = snapshotOwner;
+            studentTasks.run(() -> {
+                if (!studentDAO.changePassword(studentId, currentPassword, newPassword)) return null;
+                return PasswordVerifier.create(newPassword);
+            }, verifier -> {
+                if (verifier == null) {
+                    showMessage("Current password is incorrect.", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
                 }
+                // The cached login and the local snapshot still check the old password
+                if (owner != null && snapshotOwner == owner) {
+                    snapshotOwner = owner.withVerifier(verifier);
+                    sessionCache.put(snapshotOwner);
+                    if (studentSession != null && sessionWatermark != null) saveStudentSnapshot(studentSession, sessionWatermark);
+                }
+                currentPwdField.setText("");
+                newPwdField.setText("");
+                confirmPwdField.setText("");
                 
-                rs.close();
-                checkPs.close();
-                conn.close();
-                
-            } catch (SQLException ex) {
+                showMessage("Password changed successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            }, ex -> {
                 ex.printStackTrace();
                 showMessage("Failed to change password: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }
 
@@ -1657,6 +2419,12 @@ public class MainApp extends JFrame {
         return field;
     }
 
+    private JTextField createFilterField(String placeholder, int columns) {
+        JTextField field = createInputField(placeholder);
+        field.setColumns(columns);
+        return field;
+    }
+
     private JPasswordField createPasswordField(String placeholder) {
         JPasswordField field = new JPasswordField();
         field.setFont(FONT_UI);
@@ -1777,108 +2545,185 @@ public class MainApp extends JFrame {
         });
     }
 
-    private void refreshGradesForCurrentStudent() {
-        Component[] comps = contentPanel.getComponents();
-        for (Component c : comps) {
-            if (c instanceof JPanel) {
-                JPanel p = (JPanel) c;
-                JScrollPane sc = findScrollPane(p);
-                if (sc != null) {
-                    JViewport vp = sc.getViewport();
-                    Component view = vp.getView();
-                    if (view instanceof JTable) {
-                        JTable table = (JTable) view;
-                        DefaultTableModel tm = (DefaultTableModel) table.getModel();
-                        tm.setRowCount(0);
-                        if (p.getLayout() instanceof BorderLayout) {
-                            loadGradesIntoTable(tm);
-                        } else {
-                            loadRecentGradesIntoTable(tm, 5);
-                        }
-                    }
-                }
-            }
+    // Loads the full grade list and publishes it as a new session snapshot.
+    private void loadStudentSession(int studentId, String fullName) {
+        studentTasks.run(() -> {
+            // Read before the grades, so a change in between makes the saved watermark stale, not wrong
+            GradeDAO.GradeWatermark watermark = gradeDAO.getGradeWatermark(studentId);
+            return new LoadedSession(new StudentSession(studentId, fullName, gradeDAO.getGradesForStudent(studentId)), watermark);
+        }, loaded -> {
+            if (currentStudentId != studentId) return;
+            publishStudentSession(loaded.session, loaded.watermark);
+            saveStudentSnapshot(loaded.session, loaded.watermark);
+        }, Throwable::printStackTrace);
+    }
+
+    // Brings the published session up to date: one watermark query, and only if it moved, the rows
+    // changed since then plus the ids of the rest. The dashboard totals move by those rows alone.
+    private void refreshStudentSession() {
+        StudentSession current = studentSession;
+        GradeDAO.GradeWatermark since = sessionWatermark;
+        if (current == null || currentStudentId == -1) return;
+        if (since == null) {
+            loadStudentSession(current.getStudentId(), current.getFullName());
+            return;
         }
+        studentTasks.run(() -> {
+            // Read before the changes, so a write in between is read again next time rather than missed
+            GradeDAO.GradeWatermark watermark = gradeDAO.getGradeWatermark(current.getStudentId());
+            if (watermark.equals(since)) return null;
+            return new LoadedChanges(gradeDAO.getGradeChanges(current.getStudentId(), since.getLastUpdated()), watermark);
+        }, loaded -> {
+            if (loaded == null || studentSession != current) return;
+            StudentSession next = current.withChanges(loaded.changes, dashboardStats);
+            sessionWatermark = loaded.watermark;
+            showStudentSession(next);
+            saveStudentSnapshot(next, loaded.watermark);
+        }, Throwable::printStackTrace);
     }
 
-    private JScrollPane findScrollPane(Container parent) {
-        for (Component comp : parent.getComponents()) {
-            if (comp instanceof JScrollPane) return (JScrollPane) comp;
-            if (comp instanceof Container) {
-                JScrollPane found = findScrollPane((Container) comp);
-                if (found != null) return found;
+    // Keeps the grades just loaded on this machine for the student's next login. Not run while the
+    // login is unchecked, since a snapshot is only ever written for a password the database accepted.
+    private void saveStudentSnapshot(StudentSession session, GradeDAO.GradeWatermark watermark) {
+        StudentSnapshot.Owner owner = snapshotOwner;
+        if (owner == null || owner.getStudentId() != session.getStudentId()) return;
+        StudentSnapshot snap = new StudentSnapshot(owner, watermark, session.getGrades());
+        Path file = StudentSnapshot.pathFor(SNAPSHOT_DIR, owner.getStudentNumber());
+        studentTasks.run(() -> {
+            try {
+                snap.write(file);
+                staleSnapshots.remove(file);
+            } catch (IOException e) {
+                // The old file may hold an old password's verifier or outdated grades
+                dropSnapshot(file);
+                throw e;
             }
+            return null;
+        }, done -> { }, Throwable::printStackTrace);
+    }
+
+    private void deleteStudentSnapshot(Path file) {
+        studentTasks.run(() -> {
+            dropSnapshot(file);
+            return null;
+        }, done -> { }, Throwable::printStackTrace);
+    }
+
+    // Deletes a snapshot that must not be shown again; until that succeeds it stays marked stale.
+    // Runs on the worker, so it is not lost to a logout that drops pending callbacks.
+    private void dropSnapshot(Path file) throws IOException {
+        staleSnapshots.add(file);
+        Files.deleteIfExists(file);
+        staleSnapshots.remove(file);
+    }
+
+    // True if the file is marked stale; tries once more to delete it.
+    private boolean isStaleSnapshot(Path file) {
+        if (!staleSnapshots.contains(file)) return false;
+        try {
+            dropSnapshot(file);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        return null;
-    }
-
-    private void loadGradesIntoTable(DefaultTableModel tm) {
-        if (currentStudentId == -1) return;
-        loadStudentDataStructures();
-        for (GradeRecord gr : gradeRecords) {
-            Vector<Object> row = new Vector<>();
-            row.add(gr.courseCode);
-            row.add(gr.courseName);
-            row.add(gr.prelim);
-            row.add(gr.midterm);
-            row.add(gr.finals);
-            row.add(gr.remarks);
-            tm.addRow(row);
-        }
+        return true;
     }
 
-    private void loadRecentGradesIntoTable(DefaultTableModel tm, int limit) {
-        if (currentStudentId == -1) return;
-        recentGradesQueue.clear();
-        String sql = "SELECT course_code, COALESCE(finals, midterm, prelim) AS grade, remarks FROM grades WHERE student_id = ? ORDER BY created_at DESC LIMIT ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, currentStudentId);
-            ps.setInt(2, limit);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String course = rs.getString("course_code");
-                    Object gradeObj = rs.getObject("grade");
-                    String gradeStr = gradeObj == null ? "—" : String.valueOf(((Number) gradeObj).doubleValue());
-                    String remarks = rs.getString("remarks");
-
-                    recentGradesQueue.offer(course + ": " + gradeStr);
-                    if (recentGradesQueue.size() > 5) recentGradesQueue.poll();
-
-                    Vector<Object> row = new Vector<>();
-                    row.add(course);
-                    row.add(gradeObj);
-                    row.add(remarks);
-                    tm.addRow(row);
-                }
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+    // Publishes a session read in full (or from a local snapshot), rebuilding the dashboard totals
+    // from its rows. Called on the EDT.
+    private void publishStudentSession(StudentSession session, GradeDAO.GradeWatermark watermark) {
+        dashboardStats.clear();
+        dashboardStats.addAll(session.getGrades());
+        sessionWatermark = watermark;
+        showStudentSession(session);
+    }
+
+    // Swaps in a new snapshot, whose rows dashboardStats already reflects, and redraws every
+    // student view from it. Called on the EDT.
+    private void showStudentSession(StudentSession session) {
+        studentSession = session;
+        currentStudentId = session.getStudentId();
+        currentStudentName = session.getFullName();
+
+        if (gradesTableModel != null) showStudentGrades(session.getGrades());
+        loadRecentGradesIntoTable(recentGradesTableModel, session.getGrades(), session.getRecentRows());
+        updateDashboardStats();
+    }
+
+    private void loadRecentGradesIntoTable(DefaultTableModel tm, GradeColumns grades, int[] rows) {
+        tm.setRowCount(0);
+        for (int r : rows) {
+            double effective = grades.getEffectiveGrade(r);
+            tm.addRow(new Object[]{grades.getCourseCode(r), effective == effective ? effective : null, grades.getRemarks(r)});
         }
     }
 
     // =================== IMAGE HELPERS ===================
     private ImageIcon loadIconResource(String path, int w, int h) {
-        try {
-            java.net.URL res = getClass().getResource(path);
-            BufferedImage img = null;
-            if (res != null) img = ImageIO.read(res);
-            else {
-                File f = new File("." + path);
-                if (f.exists()) img = ImageIO.read(f);
+        return IMAGE_CACHE.getResourceIcon(path, w, h);
+    }
+
+    private void showProfilePlaceholder(JLabel label, int size) {
+        label.setIcon(null);
+        label.setText("👤");
+        label.setFont(new Font("Segoe UI Emoji", Font.PLAIN, size));
+    }
+
+    /**
+     * Shows the student's 40px (top bar) or 120px (Settings) thumbnail. A copy seen earlier is shown
+     * right away and revalidated by hash, so an unchanged picture costs one tiny query. Pictures
+     * uploaded before thumbnails existed are rendered once from the original here.
+     */
+    private void loadProfilePicture(int studentId, boolean large) {
+        if (studentId == -1) return;
+        String key = studentId + (large ? ":large" : ":small");
+        int size = large ? ProfileThumbnails.LARGE_SIZE : ProfileThumbnails.SMALL_SIZE;
+        String lastHash = profilePictureHashes.get(key);
+        ImageIcon cached = lastHash == null ? null : IMAGE_CACHE.peek("profile:" + lastHash, size, size);
+        if (cached != null) showProfilePicture(large, cached);
+        // Only revalidate by hash while the pixels are still cached
+        String knownHash = cached == null ? null : lastHash;
+
+        studentTasks.run(() -> {
+            StudentDAO.ProfileImage image = studentDAO.getProfileThumbnail(studentId, large, knownHash);
+            if (image == null) return null;
+            if (image.isUnchanged()) return new CachedPicture(knownHash, cached);
+            byte[] thumb = image.getBytes();
+            if (thumb == null) {
+                byte[] original = studentDAO.getProfilePicture(studentId);
+                byte[][] thumbs = original == null ? null : ProfileThumbnails.render(original);
+                if (thumbs == null) return null;
+                studentDAO.updateThumbnails(studentId, thumbs[0], thumbs[1]);
+                thumb = large ? thumbs[1] : thumbs[0];
             }
-            if (img != null) return new ImageIcon(img.getScaledInstance(w, h, Image.SCALE_SMOOTH));
-        } catch (Exception e) {}
-        return null;
+            byte[] pixels = thumb;
+            String hash = image.getHash();
+            // Legacy rows get their hash from the backfill; until then key the pixels by student
+            String source = hash != null ? "profile:" + hash : "profile-unhashed:" + key;
+            return new CachedPicture(hash, IMAGE_CACHE.getIcon(source, size, size, () -> ProfileThumbnails.decode(pixels)));
+        }, picture -> {
+            if (picture == null || picture.hash == null) profilePictureHashes.remove(key);
+            else profilePictureHashes.put(key, picture.hash);
+            if (currentStudentId == studentId) showProfilePicture(large, picture == null ? null : picture.icon);
+        }, Throwable::printStackTrace);
     }
 
-    private ImageIcon imageFromBytes(byte[] bytes, int w, int h) {
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(bytes)) {
-            BufferedImage img = ImageIO.read(bais);
-            if (img == null) return null;
-            return new ImageIcon(img.getScaledInstance(w, h, Image.SCALE_SMOOTH));
-        } catch (Exception ex) {ex.printStackTrace();}
-        return null;
+    private void forgetProfilePictures(int studentId) {
+        profilePictureHashes.remove(studentId + ":small");
+        profilePictureHashes.remove(studentId + ":large");
+    }
+
+    private void showProfilePicture(boolean large, ImageIcon icon) {
+        JLabel label = large ? lblProfilePicSettings : lblProfilePicTop;
+        if (label == null) return;
+        if (icon != null) {
+            label.setIcon(icon);
+            label.setText("");
+        } else if (large) {
+            showProfilePlaceholder(label, 120);
+        } else {
+            label.setText("");
+            label.setIcon(loadIconResource("/assets/default_profile.png", 40, 40));
+        }
     }
 
     // =================== BORDER CLASSES ===================
@@ -1901,121 +2746,44 @@ public class MainApp extends JFrame {
     }
 
     // =================== DATA STRUCTURE LOADER & HELPERS ===================
-    private static class GradeRecord {
-        String courseCode;
-        String courseName;
-        Double prelim;
-        Double midterm;
-        Double finals;
-        String remarks;
-
-        GradeRecord(String courseCode, String courseName, Double prelim, Double midterm, Double finals, String remarks) {
-            this.courseCode = courseCode;
-            this.courseName = courseName;
-            this.prelim = prelim;
-            this.midterm = midterm;
-            this.finals = finals;
-            this.remarks = remarks;
+    private void updateDashboardStats() {
+        StudentSession session = studentSession;
+        if (session == null) {
+            showDashboardNumbers(null, Double.NaN, -1);
+        } else {
+            showDashboardNumbers(session.getFullName(), dashboardStats.getGwa(), dashboardStats.getCourseCount());
         }
     }
 
-    private void loadStudentDataStructures() {
-        if (currentStudentId == -1) return;
-
-        gradeRecords = new ArrayList<>();
-        gradesPerTerm.clear();
-        enrolledCourses.clear();
-
-        String sql = "SELECT course_code, course_name, prelim, midterm, finals, remarks FROM grades WHERE student_id = ?";
-        try (Connection conn = DatabaseConnector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, currentStudentId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String code = rs.getString("course_code");
-                    String name = rs.getString("course_name");
-                    Double prelim = rs.getObject("prelim") == null ? null : rs.getDouble("prelim");
-                    Double midterm = rs.getObject("midterm") == null ? null : rs.getDouble("midterm");
-                    Double finals = rs.getObject("finals") == null ? null : rs.getDouble("finals");
-                    String remarks = rs.getString("remarks");
-
-                    gradeRecords.add(new GradeRecord(code, name, prelim, midterm, finals, remarks));
-
-                    if (code != null && !enrolledCourses.contains(code)) {
-                        enrolledCourses.add(code);
-                    }
-
-                    Double effective = finals != null ? finals : (midterm != null ? midterm : prelim);
-                    if (effective != null) gradesPerTerm.add(effective);
-                }
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
+    // A null name shows the logged-out placeholders; gwa is NaN when nothing is graded.
+    private void showDashboardNumbers(String fullName, double gwaValue, int courseCount) {
+        if (lblWelcome != null) {
+            lblWelcome.setText("Welcome, " + (fullName == null ? "Student" : fullName) + "!");
         }
-    }
-
-    private void updateDashboardStats() {
+        String gwa = fullName == null || Double.isNaN(gwaValue) ? "—" : String.format(Locale.ENGLISH, "%.2f", gwaValue);
         if (lblGwaStat != null) {
-            if (gradesPerTerm.isEmpty()) {
-                lblGwaStat.setText("—");
-            } else {
-                double sum = 0.0;
-                for (Double d : gradesPerTerm) sum += d;
-                double gwa = sum / gradesPerTerm.size();
-                lblGwaStat.setText(String.format(Locale.ENGLISH, "%.2f", gwa));
-            }
+            lblGwaStat.setText(gwa);
         }
         if (lblCoursesStat != null) {
-            lblCoursesStat.setText(enrolledCourses.isEmpty() ? "0" : String.valueOf(enrolledCourses.size()));
+            lblCoursesStat.setText(fullName == null ? "—" : String.valueOf(courseCount));
         }
-    }
-
-    private void repopulateGradesTableFromRecords() {
-        if (gradesTableModel == null) return;
-        gradesTableModel.setRowCount(0);
-        for (GradeRecord gr : gradeRecords) {
-            Vector<Object> row = new Vector<>();
-            row.add(gr.courseCode);
-            row.add(gr.courseName);
-            row.add(gr.prelim);
-            row.add(gr.midterm);
-            row.add(gr.finals);
-            row.add(gr.remarks);
-            gradesTableModel.addRow(row);
-        }
-    }
-
-    private static Double finalComparableNullsLast(GradeRecord gr) {
-        if (gr == null) return Double.NEGATIVE_INFINITY;
-        if (gr.finals != null) return gr.finals;
-        if (gr.midterm != null) return gr.midterm;
-        if (gr.prelim != null) return gr.prelim;
-        return Double.NEGATIVE_INFINITY;
-    }
-
-    private static <T> List<T> mergeSort(List<T> src, Comparator<T> cmp) {
-        if (src.size() <= 1) return new ArrayList<>(src);
-        int mid = src.size() / 2;
-        List<T> left = mergeSort(src.subList(0, mid), cmp);
-        List<T> right = mergeSort(src.subList(mid, src.size()), cmp);
-        return merge(left, right, cmp);
-    }
-    
-    private static <T> List<T> merge(List<T> left, List<T> right, Comparator<T> cmp) {
-        List<T> out = new ArrayList<>(left.size() + right.size());
-        int i = 0, j = 0;
-        while (i < left.size() && j < right.size()) {
-            if (cmp.compare(left.get(i), right.get(j)) <= 0) out.add(left.get(i++));
-            else out.add(right.get(j++));
+        if (lblCurrentGwa != null) {
+            lblCurrentGwa.setText("Current GWA: " + gwa);
         }
-        while (i < left.size()) out.add(left.get(i++));
-        while (j < right.size()) out.add(right.get(j++));
-        return out;
     }
 
     // =================== MAIN ===================
     public static void main(String[] args) {
         try { UIManager.setLookAndFeel(UIManager.getCrossPlatformLookAndFeelClassName()); } catch (Exception e) {}
+        // Load the driver, open the first pooled connections and bring the schema up to date
+        // while the window is being built; logins wait for it (see SchemaMigrator.awaitStartup).
+        SchemaMigrator.startInBackground();
+        // Icons every session needs are decoded and scaled while the window is being built
+        IMAGE_CACHE.prewarmResource("/assets/ARMS.png", 150, 150);
+        IMAGE_CACHE.prewarmResource("/assets/ARMS Logo.png", 80, 80);
+        IMAGE_CACHE.prewarmResource("/assets/ARMS Teacher Logo.PNG", 80, 80);
+        IMAGE_CACHE.prewarmResource("/assets/default_profile.png", 40, 40);
+        Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnector::shutdown, "arms-pool-shutdown"));
         SwingUtilities.invokeLater(() -> new MainApp().setVisible(true));
     }
 }
\ No newline at end of file
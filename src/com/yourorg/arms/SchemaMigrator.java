@@ -0,0 +1,262 @@
+package com.yourorg.arms;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned scripts under /migrations in order and records each one in
+ * schema_version. Runs in the background at startup (see DatabaseConfig.MIGRATE_ON_STARTUP),
+ * with logins waiting for it, or from the command line: java com.yourorg.arms.SchemaMigrator [--status]
+ */
+public class SchemaMigrator {
+    // Add new scripts to the end; applied versions are never re-run.
+    private static final String[] SCRIPTS = {
+            "V1__baseline.sql",
+            "V2__accounts.sql",
+            "V3__grade_indexes.sql",
+            "V4__profile_thumbnails.sql",
+            "V5__profile_pic_hash.sql",
+            "V6__grade_version.sql",
+            "V7__grade_updated_at.sql",
+            "V8__grade_course_updated.sql",
+            "V9__student_name_order.sql",
+    };
+
+    // MySQL errors that mean a statement's effect is already in place: table exists,
+    // duplicate column, duplicate key name. Lets the runner adopt databases created by hand.
+    private static final int ER_TABLE_EXISTS = 1050;
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    private static final String LOCK_NAME = "arms_schema_migration";
+    private static final int LOCK_TIMEOUT_S = 30;
+
+    private static CompletableFuture<Integer> startup;
+
+    // Warms the pool and, if MIGRATE_ON_STARTUP is set, runs migrate() on a background thread.
+    // Later calls return the same run unless it failed, in which case it is started again.
+    public static synchronized CompletableFuture<Integer> startInBackground() {
+        if (startup != null && !startup.isCompletedExceptionally()) return startup;
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        Thread t = new Thread(() -> {
+            DatabaseConnector.warmUp();
+            try {
+                future.complete(DatabaseConfig.MIGRATE_ON_STARTUP ? migrate() : 0);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, "arms-db-startup");
+        t.setDaemon(true);
+        t.start();
+        startup = future;
+        return future;
+    }
+
+    // Blocks until the startup migration has finished, so no query runs against an old schema.
+    // Call off the EDT, before the first query of a session.
+    public static void awaitStartup() throws SQLException {
+        try {
+            startInBackground().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the schema migration", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("The database schema could not be brought up to date: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Brings the schema up to date and returns the number of scripts applied.
+    public static int migrate() throws SQLException, IOException {
+        try (Connection c = DatabaseConnector.getConnection()) {
+            acquireLock(c);
+            try {
+                ensureVersionTable(c);
+                Map<Integer, String> applied = appliedVersions(c);
+                int count = 0;
+                for (String script : SCRIPTS) {
+                    int version = versionOf(script);
+                    String sql = readScript(script);
+                    String checksum = checksum(sql);
+                    if (applied.containsKey(version)) {
+                        if (!checksum.equals(applied.get(version))) {
+                            System.err.println("[SchemaMigrator] " + script + " changed after it was applied; ignoring");
+                        }
+                        continue;
+                    }
+                    long start = System.currentTimeMillis();
+                    apply(c, script, sql);
+                    recordVersion(c, version, descriptionOf(script), checksum, System.currentTimeMillis() - start);
+                    System.out.println("[SchemaMigrator] Applied " + script);
+                    count++;
+                }
+                return count;
+            } finally {
+                releaseLock(c);
+            }
+        }
+    }
+
+    public static void printStatus() throws SQLException, IOException {
+        try (Connection c = DatabaseConnector.getConnection()) {
+            ensureVersionTable(c);
+            Map<Integer, String> applied = appliedVersions(c);
+            for (String script : SCRIPTS) {
+                System.out.println((applied.containsKey(versionOf(script)) ? "[applied] " : "[pending] ") + script);
+            }
+        }
+    }
+
+    private static void apply(Connection c, String script, String sql) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            for (String statement : splitStatements(sql)) {
+                try {
+                    st.execute(statement);
+                } catch (SQLException e) {
+                    int code = e.getErrorCode();
+                    if (code == ER_TABLE_EXISTS || code == ER_DUP_FIELDNAME || code == ER_DUP_KEYNAME) {
+                        System.out.println("[SchemaMigrator] " + script + ": already present (" + e.getMessage() + ")");
+                    } else {
+                        throw new SQLException("Migration " + script + " failed on: " + statement, e.getSQLState(), code, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void ensureVersionTable(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                       "version INT PRIMARY KEY, " +
+                       "description VARCHAR(200) NOT NULL, " +
+                       "checksum VARCHAR(16) NOT NULL, " +
+                       "execution_ms INT NOT NULL, " +
+                       "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private static Map<Integer, String> appliedVersions(Connection c) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (PreparedStatement ps = c.prepareStatement("SELECT version, checksum FROM schema_version");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private static void recordVersion(Connection c, int version, String description, String checksum, long elapsedMs) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, version);
+            ps.setString(2, description);
+            ps.setString(3, checksum);
+            ps.setInt(4, (int) elapsedMs);
+            ps.executeUpdate();
+        }
+    }
+
+    // Serializes concurrent startups so two lab machines never run the same script at once.
+    private static void acquireLock(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_S);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another client to finish migrating the schema");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection c) {
+        try (PreparedStatement ps = c.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String readScript(String script) throws IOException {
+        String path = "/migrations/" + script;
+        InputStream in = SchemaMigrator.class.getResourceAsStream(path);
+        if (in == null) {
+            File f = new File("src" + path);
+            if (!f.exists()) throw new IOException("Migration script not found: " + path);
+            in = new FileInputStream(f);
+        }
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    // Scripts hold one statement per ';'-terminated line group; '--' lines are comments.
+    static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : sql.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String statement = current.toString().trim();
+                statements.add(statement.substring(0, statement.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) statements.add(current.toString().trim());
+        return statements;
+    }
+
+    private static int versionOf(String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    private static String descriptionOf(String script) {
+        return script.substring(script.indexOf("__") + 2, script.lastIndexOf('.')).replace('_', ' ');
+    }
+
+    private static String checksum(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    public static void main(String[] args) {
+        try {
+            if (args.length > 0 && "--status".equals(args[0])) {
+                printStatus();
+            } else {
+                System.out.println("[SchemaMigrator] " + migrate() + " migration(s) applied");
+            }
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.yourorg.arms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-statement JDBC timings collected by ConnectionPool. A statement is named by the block
+ * comment its SQL text starts with (the DAOs tag every query with Class.method), and otherwise
+ * by its first few words. Recording is lock-free: a few counter updates per execution.
+ * Screen load times from the UI are recorded here too, under ui.* names, and the report ends
+ * with the pool's own counters. Exposed over JMX as com.yourorg.arms:type=SqlMetrics.
+ */
+public class SqlMetrics implements SqlMetricsMBean {
+    // Time spent waiting for a pooled connection, reported alongside the statements
+    public static final String CONNECTION_ACQUIRE = "connection.acquire";
+
+    private static final int MAX_CACHED_SQL = 1_000;
+    private static final int UNNAMED_PREFIX_LENGTH = 60;
+
+    private final ConcurrentHashMap<String, StatementStats> byName = new ConcurrentHashMap<>();
+    // Resolved names by SQL text, so the comment is parsed once per distinct statement
+    private final ConcurrentHashMap<String, StatementStats> bySql = new ConcurrentHashMap<>();
+    // Null when the metrics are not tied to a pool
+    private final Supplier<ConnectionPool.Stats> poolStats;
+    private ScheduledExecutorService logger;
+
+    public SqlMetrics() {
+        this(null);
+    }
+
+    public SqlMetrics(Supplier<ConnectionPool.Stats> poolStats) {
+        this.poolStats = poolStats;
+    }
+
+    public StatementStats forSql(String sql) {
+        StatementStats stats = bySql.get(sql);
+        if (stats != null) return stats;
+        stats = named(nameOf(sql));
+        // Statements built with a variable number of placeholders would grow this without bound
+        if (bySql.size() < MAX_CACHED_SQL) bySql.put(sql, stats);
+        return stats;
+    }
+
+    public StatementStats named(String name) {
+        return byName.computeIfAbsent(name, StatementStats::new);
+    }
+
+    // Periodically prints the report when statements ran since the last one. 0 disables it.
+    public synchronized void startLogging(long periodSeconds) {
+        if (periodSeconds <= 0 || logger != null) return;
+        logger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "arms-sql-metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        long[] lastTotal = {0};
+        logger.scheduleAtFixedRate(() -> {
+            long total = totalExecutions();
+            if (total == lastTotal[0]) return;
+            lastTotal[0] = total;
+            System.out.println("[SqlMetrics]\n" + getReport());
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopLogging() {
+        if (logger != null) logger.shutdownNow();
+        logger = null;
+    }
+
+    public List<StatementStats> getStatements() {
+        List<StatementStats> list = new ArrayList<>(byName.values());
+        list.sort(Comparator.comparingLong(StatementStats::getTotalNanos).reversed());
+        return list;
+    }
+
+    // =================== JMX ===================
+    @Override
+    public String[] getStatementNames() {
+        List<StatementStats> list = getStatements();
+        String[] names = new String[list.size()];
+        for (int i = 0; i < names.length; i++) names[i] = list.get(i).getName();
+        return names;
+    }
+
+    @Override
+    public String[] getStatementSummaries() {
+        List<StatementStats> list = getStatements();
+        String[] lines = new String[list.size()];
+        for (int i = 0; i < lines.length; i++) lines[i] = list.get(i).toString();
+        return lines;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-45s %8s %6s %9s %8s %8s %8s %8s%n",
+                "statement", "count", "errors", "rows", "avg ms", "p50 ms", "p95 ms", "p99 ms"));
+        for (StatementStats s : getStatements()) {
+            sb.append(String.format(Locale.ROOT, "%-45s %8d %6d %9d %8.2f %8.2f %8.2f %8.2f%n",
+                    s.getName(), s.getCount(), s.getErrors(), s.getRows(),
+                    s.getAverageMillis(), s.getPercentileMillis(50), s.getPercentileMillis(95), s.getPercentileMillis(99)));
+        }
+        if (poolStats != null) sb.append("pool: ").append(poolStats.get()).append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    @Override
+    public long getTotalExecutions() {
+        return totalExecutions();
+    }
+
+    @Override
+    public double getPercentileMillis(String statement, double percentile) {
+        StatementStats s = byName.get(statement);
+        return s == null ? 0.0 : s.getPercentileMillis(percentile);
+    }
+
+    @Override
+    public void reset() {
+        // Counters are zeroed in place; the pool and open statements keep references to them
+        for (StatementStats s : byName.values()) s.reset();
+    }
+
+    private long totalExecutions() {
+        long total = 0;
+        for (StatementStats s : byName.values()) {
+            if (!CONNECTION_ACQUIRE.equals(s.getName())) total += s.getCount();
+        }
+        return total;
+    }
+
+    static String nameOf(String sql) {
+        String trimmed = sql.trim();
+        if (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            if (end > 2) return trimmed.substring(2, end).trim();
+        }
+        String collapsed = trimmed.replaceAll("\\s+", " ");
+        return collapsed.length() <= UNNAMED_PREFIX_LENGTH ? collapsed : collapsed.substring(0, UNNAMED_PREFIX_LENGTH) + "...";
+    }
+
+    // =================== STATEMENT STATS ===================
+    public static class StatementStats {
+        // Bucket i counts latencies up to 2^i * 16 microseconds; the last bucket is open-ended (> ~67 s).
+        private static final int BUCKETS = 24;
+        private static final long FIRST_BOUND_NANOS = 16_000;
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        StatementStats(String name) {
+            this.name = name;
+        }
+
+        public void record(long elapsedNanos, boolean failed) {
+            count.increment();
+            if (failed) errors.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            histogram.incrementAndGet(bucketOf(elapsedNanos));
+        }
+
+        public void addRows(long n) {
+            rows.add(n);
+        }
+
+        void reset() {
+            count.reset();
+            errors.reset();
+            rows.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < BUCKETS; i++) histogram.set(i, 0);
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count.sum(); }
+        public long getErrors() { return errors.sum(); }
+        // Rows read by queries plus rows affected by updates
+        public long getRows() { return rows.sum(); }
+        public long getTotalNanos() { return totalNanos.sum(); }
+        public double getMaxMillis() { return maxNanos.get() / 1e6; }
+
+        public double getAverageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        // Upper bound of the histogram bucket holding the given percentile, capped at the observed max.
+        public double getPercentileMillis(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0) return 0.0;
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    long bound = i == BUCKETS - 1 ? Long.MAX_VALUE : FIRST_BOUND_NANOS << i;
+                    return Math.min(bound, maxNanos.get()) / 1e6;
+                }
+            }
+            return maxNanos.get() / 1e6;
+        }
+
+        private static int bucketOf(long nanos) {
+            if (nanos <= FIRST_BOUND_NANOS) return 0;
+            int bucket = 64 - Long.numberOfLeadingZeros((nanos - 1) / FIRST_BOUND_NANOS);
+            return Math.min(bucket, BUCKETS - 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s count=%d errors=%d rows=%d avg=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    name, getCount(), getErrors(), getRows(), getAverageMillis(),
+                    getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+        }
+    }
+}
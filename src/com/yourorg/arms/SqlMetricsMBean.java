@@ -0,0 +1,16 @@
+package com.yourorg.arms;
+
+// JMX view of SqlMetrics (jconsole: com.yourorg.arms > SqlMetrics).
+public interface SqlMetricsMBean {
+    String[] getStatementNames();
+
+    String[] getStatementSummaries();
+
+    String getReport();
+
+    long getTotalExecutions();
+
+    double getPercentileMillis(String statement, double percentile);
+
+    void reset();
+}
@@ -1,34 +1,564 @@
 package com.yourorg.arms.dao;
 
 import com.yourorg.arms.DatabaseConnector;
+import com.yourorg.arms.models.Course;
 import com.yourorg.arms.models.Grade;
+import com.yourorg.arms.models.GradeColumns;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class GradeDAO {
-    public List<Grade> getGradesForStudent(int studentId) throws SQLException {
-        String sql = "SELECT id, course_code, course_name, prelim, midterm, finals, remarks FROM grades WHERE student_id = ?";
-        List<Grade> list = new ArrayList<>();
+    // Version to pass to saveGrade when the grade should not exist yet; no stored row ever has it
+    public static final long NEW_GRADE = Long.MIN_VALUE;
+    private static final int LOOKUP_CHUNK = 500;
+
+    // Statements behind saveGrade and saveGrades. A new grade is only inserted, an existing one
+    // only updated while it still has the expected version, so a grade deleted in the meantime
+    // is never written back.
+    private static final String INSERT_SQL = "/* GradeDAO.saveGrade.insert */ INSERT INTO grades (student_id, course_code, course_name, prelim, midterm, finals, remarks, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE version = version";
+    private static final String UPDATE_SQL = "/* GradeDAO.saveGrade.update */ UPDATE grades SET " +
+            "course_name = COALESCE(?, course_name), prelim = ?, midterm = ?, finals = ?, remarks = ?, version = ? " +
+            "WHERE student_id = ? AND course_code = ? AND version = ?";
+    private static final String LISTING_SELECT = "SELECT g.id, g.student_id, s.full_name, g.course_code, g.course_name, g.prelim, g.midterm, g.finals, g.remarks, g.version " +
+            "FROM grades g JOIN students s ON g.student_id = s.id";
+
+    public GradeColumns getGradesForStudent(int studentId) throws SQLException {
+        String sql = "/* GradeDAO.getGradesForStudent */ SELECT id, course_code, course_name, prelim, midterm, finals, remarks, created_at FROM grades WHERE student_id = ?";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return readStudentGrades(rs);
+            }
+        }
+    }
+
+    // Package-private for the row-mapping benchmark under bench/
+    static GradeColumns readStudentGrades(ResultSet rs) throws SQLException {
+        GradeColumns cols = new GradeColumns(16);
+        while (rs.next()) {
+            Timestamp created = rs.getTimestamp("created_at");
+            cols.add(rs.getInt("id"), rs.getString("course_code"), rs.getString("course_name"),
+                    getDoubleOrNaN(rs, "prelim"), getDoubleOrNaN(rs, "midterm"), getDoubleOrNaN(rs, "finals"),
+                    rs.getString("remarks"), created == null ? GradeColumns.NO_TIME : created.getTime());
+        }
+        return cols;
+    }
+
+    // Dashboard numbers for one student in a single aggregate query, using the same effective
+    // grade (finals, then midterm, then prelim) as the grade list.
+    public GradeSummary getGradeSummary(int studentId) throws SQLException {
+        String sql = "/* GradeDAO.getGradeSummary */ SELECT COUNT(DISTINCT course_code) AS courses, " +
+                "COUNT(COALESCE(finals, midterm, prelim)) AS graded, AVG(COALESCE(finals, midterm, prelim)) AS gwa, " +
+                "MIN(COALESCE(finals, midterm, prelim)) AS lowest, MAX(COALESCE(finals, midterm, prelim)) AS highest " +
+                "FROM grades WHERE student_id = ?";
         try (Connection c = DatabaseConnector.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return new GradeSummary(0, 0, Double.NaN, Double.NaN, Double.NaN);
+                return new GradeSummary(rs.getInt("courses"), rs.getInt("graded"), getDoubleOrNaN(rs, "gwa"),
+                        getDoubleOrNaN(rs, "lowest"), getDoubleOrNaN(rs, "highest"));
+            }
+        }
+    }
+
+    // Row count and last change time of the student's grades. Adding, editing or deleting a grade
+    // always changes one of the two, so an equal watermark means nothing changed. Index-only.
+    public GradeWatermark getGradeWatermark(int studentId) throws SQLException {
+        String sql = "/* GradeDAO.getGradeWatermark */ SELECT COUNT(*), MAX(updated_at) FROM grades WHERE student_id = ?";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                Timestamp updated = rs.getTimestamp(2);
+                return new GradeWatermark(rs.getInt(1), updated == null ? GradeColumns.NO_TIME : updated.getTime());
+            }
+        }
+    }
+
+    // The student's grades updated at or after sinceMillis (all of them for GradeColumns.NO_TIME),
+    // and the ids of every grade the student still has, so an older copy of the list can be
+    // brought up to date without reading the unchanged rows. Both reads share one transaction.
+    public GradeChanges getGradeChanges(int studentId, long sinceMillis) throws SQLException {
+        String changedSql = "/* GradeDAO.getGradeChanges */ SELECT id, course_code, course_name, prelim, midterm, finals, remarks, created_at " +
+                            "FROM grades WHERE student_id = ?" + (sinceMillis == GradeColumns.NO_TIME ? "" : " AND updated_at >= ?");
+        String idsSql = "/* GradeDAO.getGradeIds */ SELECT id FROM grades WHERE student_id = ? ORDER BY id";
+        try (Connection c = DatabaseConnector.getConnection()) {
+            c.setAutoCommit(false);
+            try {
+                GradeColumns changed;
+                try (PreparedStatement ps = c.prepareStatement(changedSql)) {
+                    ps.setInt(1, studentId);
+                    if (sinceMillis != GradeColumns.NO_TIME) ps.setTimestamp(2, new Timestamp(sinceMillis));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        changed = readStudentGrades(rs);
+                    }
+                }
+                int[] ids = new int[16];
+                int n = 0;
+                try (PreparedStatement ps = c.prepareStatement(idsSql)) {
+                    ps.setInt(1, studentId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            if (n == ids.length) ids = Arrays.copyOf(ids, n * 2);
+                            ids[n++] = rs.getInt(1);
+                        }
+                    }
+                }
+                c.commit();
+                return new GradeChanges(changed, Arrays.copyOf(ids, n));
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+        }
+    }
+
+    public int countGrades(GradeListQuery query) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = "/* GradeDAO.countGrades */ SELECT COUNT(*) FROM grades g JOIN students s ON g.student_id = s.id WHERE 1=1" +
+                     query.filterSql(params);
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    // One page of the teacher grade listing in the query's order, starting right after the
+    // given key (null for the first page).
+    public List<Grade> getGradePage(GradeListQuery query, PageKey after, int limit) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = "/* GradeDAO.getGradePage */ " + LISTING_SELECT + " WHERE 1=1" + query.filterSql(params) +
+                     (after == null ? "" : query.seekSql(after, true, params)) +
+                     query.orderBySql() + " LIMIT ?";
+        params.add(limit);
+        List<Grade> list = new ArrayList<>(limit);
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            bind(ps, params);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    Grade g = new Grade();
-                    g.setId(rs.getInt("id"));
-                    g.setStudentId(studentId);
-                    g.setCourseCode(rs.getString("course_code"));
-                    g.setCourseName(rs.getString("course_name"));
-                    double v;
-                    v = rs.getDouble("prelim"); g.setPrelim(rs.wasNull()?null:v);
-                    v = rs.getDouble("midterm"); g.setMidterm(rs.wasNull()?null:v);
-                    v = rs.getDouble("finals"); g.setFinals(rs.wasNull()?null:v);
-                    g.setRemarks(rs.getString("remarks"));
-                    list.add(g);
+                    list.add(mapListingRow(rs));
                 }
             }
         }
         return list;
     }
+
+    // Number of listing rows that sort before the given key, i.e. the row's position in the listing.
+    public int countRowsBefore(GradeListQuery query, PageKey key) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = "/* GradeDAO.countRowsBefore */ SELECT COUNT(*) FROM grades g JOIN students s ON g.student_id = s.id WHERE 1=1" +
+                     query.filterSql(params) + query.seekSql(key, false, params);
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            ps.setObject(i + 1, params.get(i));
+        }
+    }
+
+    // One row as the teacher listing shows it, or null if the student has no grade for the course.
+    public Grade getListingRow(int studentId, String courseCode) throws SQLException {
+        try (Connection c = DatabaseConnector.getConnection()) {
+            return getListingRow(c, studentId, courseCode);
+        }
+    }
+
+    private static Grade getListingRow(Connection c, int studentId, String courseCode) throws SQLException {
+        String sql = "/* GradeDAO.getListingRow */ " + LISTING_SELECT + " WHERE g.student_id = ? AND g.course_code = ?";
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            ps.setString(2, courseCode);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapListingRow(rs) : null;
+            }
+        }
+    }
+
+    private static Grade mapListingRow(ResultSet rs) throws SQLException {
+        Grade g = new Grade();
+        g.setId(rs.getInt("id"));
+        g.setStudentId(rs.getInt("student_id"));
+        g.setStudentName(rs.getString("full_name"));
+        g.setCourseCode(rs.getString("course_code"));
+        g.setCourseName(rs.getString("course_name"));
+        g.setPrelim(getNullableDouble(rs, "prelim"));
+        g.setMidterm(getNullableDouble(rs, "midterm"));
+        g.setFinals(getNullableDouble(rs, "finals"));
+        g.setRemarks(rs.getString("remarks"));
+        g.setVersion(rs.getLong("version"));
+        return g;
+    }
+
+    // Sort key of the row at the given position, used to start a keyset page without walking every page before it.
+    public PageKey getPageKeyAt(GradeListQuery query, int offset) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = "/* GradeDAO.getPageKeyAt */ " + LISTING_SELECT + " WHERE 1=1" + query.filterSql(params) +
+                     query.orderBySql() + " LIMIT 1 OFFSET ?";
+        params.add(offset);
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return query.keyOf(mapListingRow(rs));
+                }
+            }
+        }
+        return null;
+    }
+
+    public List<Course> getCourses() throws SQLException {
+        String sql = "/* GradeDAO.getCourses */ SELECT DISTINCT course_code, course_name FROM grades ORDER BY course_code";
+        List<Course> list = new ArrayList<>();
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                list.add(new Course(rs.getString("course_code"), rs.getString("course_name")));
+            }
+        }
+        return list;
+    }
+
+    // Term grades of the given courses, grouped by course code. Used by the course analytics to
+    // fetch only courses whose cached numbers are stale.
+    public Map<String, GradeColumns> getGradesByCourse(Collection<String> courses) throws SQLException {
+        Map<String, GradeColumns> byCourse = new LinkedHashMap<>();
+        if (courses.isEmpty()) return byCourse;
+        StringBuilder sql = new StringBuilder("/* GradeDAO.getGradesByCourse */ SELECT id, course_code, course_name, prelim, midterm, finals FROM grades WHERE course_code IN (");
+        for (int i = 0; i < courses.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+        sql.append(") ORDER BY course_code");
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (String code : courses) ps.setString(i++, code);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String code = rs.getString("course_code");
+                    byCourse.computeIfAbsent(code, k -> new GradeColumns(64)).add(rs.getInt("id"), code,
+                            rs.getString("course_name"), getDoubleOrNaN(rs, "prelim"), getDoubleOrNaN(rs, "midterm"),
+                            getDoubleOrNaN(rs, "finals"), null, GradeColumns.NO_TIME);
+                }
+            }
+        }
+        return byCourse;
+    }
+
+    // Row count and last change of every course with grades, in code order. A course's
+    // watermark moves whenever one of its grades is added, changed or deleted, on any machine.
+    public Map<String, GradeWatermark> getCourseWatermarks() throws SQLException {
+        String sql = "/* GradeDAO.getCourseWatermarks */ SELECT course_code, COUNT(*), MAX(updated_at) FROM grades GROUP BY course_code ORDER BY course_code";
+        Map<String, GradeWatermark> watermarks = new LinkedHashMap<>();
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Timestamp updated = rs.getTimestamp(3);
+                watermarks.put(rs.getString(1), new GradeWatermark(rs.getInt(2), updated == null ? GradeColumns.NO_TIME : updated.getTime()));
+            }
+        }
+        return watermarks;
+    }
+
+    // Inserts or updates the student's grade for the course. expectedVersion is the version the
+    // caller last read, or NEW_GRADE if it expects no row. When the stored row no longer has that
+    // version, or was deleted, nothing is written and the result is a conflict carrying the current
+    // row (null if deleted). The write and the read-back of the row share one transaction, so the
+    // row returned is the one this write left. A null course name keeps the stored one.
+    public SaveResult saveGrade(Grade g, long expectedVersion) throws SQLException {
+        long newVersion = newVersion();
+        try (Connection c = DatabaseConnector.getConnection()) {
+            c.setAutoCommit(false);
+            Grade row;
+            try {
+                try (PreparedStatement ps = c.prepareStatement(expectedVersion == NEW_GRADE ? INSERT_SQL : UPDATE_SQL)) {
+                    bindSave(ps, g, expectedVersion, newVersion);
+                    ps.executeUpdate();
+                }
+                row = getListingRow(c, g.getStudentId(), g.getCourseCode());
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+            // The stored version says whether this write landed; the affected-row count cannot, since
+            // with the driver's default found-rows mode a skipped upsert reports 1 just like an insert.
+            if (row == null || row.getVersion() != newVersion) return new SaveResult(SaveStatus.CONFLICT, row);
+            return new SaveResult(expectedVersion == NEW_GRADE ? SaveStatus.INSERTED : SaveStatus.UPDATED, row);
+        }
+    }
+
+    // Updates a grade the caller has read, as the listing returns it, to g's values in a single
+    // statement, provided it still has the version that was read. The row returned is built from
+    // stored rather than read back; on a conflict nothing is written and the current row is read
+    // instead (null if deleted). A null course name keeps the stored one.
+    public SaveResult updateGrade(Grade stored, Grade g) throws SQLException {
+        long newVersion = newVersion();
+        try (Connection c = DatabaseConnector.getConnection()) {
+            int matched;
+            try (PreparedStatement ps = c.prepareStatement(UPDATE_SQL)) {
+                bindSave(ps, g, stored.getVersion(), newVersion);
+                matched = ps.executeUpdate();
+            }
+            // Only the version in the WHERE clause can fail to match, and a matched row is written
+            if (matched == 0) return new SaveResult(SaveStatus.CONFLICT, getListingRow(c, g.getStudentId(), g.getCourseCode()));
+            return new SaveResult(SaveStatus.UPDATED, updatedRow(stored, g, newVersion));
+        }
+    }
+
+    // The listing row an update to g's values leaves behind, given the row it replaced.
+    public static Grade updatedRow(Grade stored, Grade g, long version) {
+        Grade row = new Grade();
+        row.setId(stored.getId());
+        row.setStudentId(stored.getStudentId());
+        row.setStudentName(stored.getStudentName());
+        row.setCourseCode(stored.getCourseCode());
+        row.setCourseName(g.getCourseName() != null ? g.getCourseName() : stored.getCourseName());
+        row.setPrelim(g.getPrelim());
+        row.setMidterm(g.getMidterm());
+        row.setFinals(g.getFinals());
+        row.setRemarks(g.getRemarks());
+        row.setVersion(version);
+        return row;
+    }
+
+    // saveGrade for several grades (at most one per student and course) as JDBC batches in one
+    // transaction; nothing is written if a statement fails. Results are in input order and are
+    // SAVED or CONFLICT.
+    public List<SaveResult> saveGrades(List<Grade> grades, long[] expectedVersions) throws SQLException {
+        long[] newVersions = new long[grades.size()];
+        try (Connection c = DatabaseConnector.getConnection()) {
+            c.setAutoCommit(false);
+            Map<String, Grade> stored;
+            try {
+                try (PreparedStatement inserts = c.prepareStatement(INSERT_SQL);
+                     PreparedStatement updates = c.prepareStatement(UPDATE_SQL)) {
+                    boolean anyInsert = false, anyUpdate = false;
+                    for (int i = 0; i < grades.size(); i++) {
+                        newVersions[i] = newVersion();
+                        boolean isNew = expectedVersions[i] == NEW_GRADE;
+                        PreparedStatement ps = isNew ? inserts : updates;
+                        bindSave(ps, grades.get(i), expectedVersions[i], newVersions[i]);
+                        ps.addBatch();
+                        anyInsert |= isNew;
+                        anyUpdate |= !isNew;
+                    }
+                    // The counts are not looked at: rewriteBatchedStatements reports SUCCESS_NO_INFO
+                    if (anyInsert) inserts.executeBatch();
+                    if (anyUpdate) updates.executeBatch();
+                }
+                stored = getListingRows(c, grades);
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+            List<SaveResult> results = new ArrayList<>(grades.size());
+            for (int i = 0; i < grades.size(); i++) {
+                Grade g = grades.get(i);
+                Grade row = stored.get(g.getStudentId() + ":" + g.getCourseCode());
+                boolean landed = row != null && row.getVersion() == newVersions[i];
+                results.add(new SaveResult(landed ? SaveStatus.SAVED : SaveStatus.CONFLICT, row));
+            }
+            return results;
+        }
+    }
+
+    private static void bindSave(PreparedStatement ps, Grade g, long expectedVersion, long newVersion) throws SQLException {
+        if (expectedVersion == NEW_GRADE) {
+            ps.setInt(1, g.getStudentId());
+            ps.setString(2, g.getCourseCode());
+            ps.setString(3, g.getCourseName());
+            ps.setObject(4, g.getPrelim());
+            ps.setObject(5, g.getMidterm());
+            ps.setObject(6, g.getFinals());
+            ps.setString(7, g.getRemarks());
+            ps.setLong(8, newVersion);
+        } else {
+            ps.setString(1, g.getCourseName());
+            ps.setObject(2, g.getPrelim());
+            ps.setObject(3, g.getMidterm());
+            ps.setObject(4, g.getFinals());
+            ps.setString(5, g.getRemarks());
+            ps.setLong(6, newVersion);
+            ps.setInt(7, g.getStudentId());
+            ps.setString(8, g.getCourseCode());
+            ps.setLong(9, expectedVersion);
+        }
+    }
+
+    // Listing rows for the grades' (student, course) pairs, keyed "studentId:courseCode".
+    private static Map<String, Grade> getListingRows(Connection c, List<Grade> grades) throws SQLException {
+        Map<String, Grade> rows = new HashMap<>(grades.size() * 2);
+        for (int from = 0; from < grades.size(); from += LOOKUP_CHUNK) {
+            List<Grade> chunk = grades.subList(from, Math.min(from + LOOKUP_CHUNK, grades.size()));
+            StringBuilder sql = new StringBuilder("/* GradeDAO.getListingRows */ ").append(LISTING_SELECT)
+                    .append(" WHERE (g.student_id, g.course_code) IN (");
+            for (int i = 0; i < chunk.size(); i++) sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            sql.append(')');
+            try (PreparedStatement ps = c.prepareStatement(sql.toString())) {
+                int p = 1;
+                for (Grade g : chunk) {
+                    ps.setInt(p++, g.getStudentId());
+                    ps.setString(p++, g.getCourseCode());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Grade row = mapListingRow(rs);
+                        rows.put(row.getStudentId() + ":" + row.getCourseCode(), row);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Random rather than counted, so a write that was skipped can never leave behind the value this one set
+    private static long newVersion() {
+        long v;
+        do {
+            v = ThreadLocalRandom.current().nextLong();
+        } while (v == NEW_GRADE);
+        return v;
+    }
+
+    // Returns the deleted row as the teacher listing showed it, or null if there was no grade to delete.
+    public Grade deleteGrade(int studentId, String courseCode) throws SQLException {
+        String sql = "/* GradeDAO.deleteGrade */ DELETE FROM grades WHERE id = ?";
+        try (Connection c = DatabaseConnector.getConnection()) {
+            Grade row = getListingRow(c, studentId, courseCode);
+            if (row == null) return null;
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setInt(1, row.getId());
+                return ps.executeUpdate() > 0 ? row : null;
+            }
+        }
+    }
+
+    // Position of a row in the teacher grade listing: its sort column values (see
+    // GradeListQuery.keyOf) followed by the grade id.
+    public static class PageKey {
+        final Object[] values;
+        final int id;
+
+        PageKey(Object[] values, int id) {
+            this.values = values;
+            this.id = id;
+        }
+    }
+
+    // SAVED is reported by saveGrades, which does not tell inserts from updates
+    public enum SaveStatus { INSERTED, UPDATED, SAVED, CONFLICT }
+
+    // Outcome of saveGrade and the row as stored afterwards (the other writer's row on a conflict).
+    public static class SaveResult {
+        private final SaveStatus status;
+        private final Grade row;
+
+        SaveResult(SaveStatus status, Grade row) {
+            this.status = status;
+            this.row = row;
+        }
+
+        public SaveStatus getStatus() { return status; }
+        public Grade getRow() { return row; }
+    }
+
+    // Result of getGradeChanges
+    public static final class GradeChanges {
+        private final GradeColumns changed;
+        private final int[] liveIds;
+
+        GradeChanges(GradeColumns changed, int[] liveIds) {
+            this.changed = changed;
+            this.liveIds = liveIds;
+        }
+
+        public GradeColumns getChanged() { return changed; }
+
+        public boolean isLive(int gradeId) {
+            return Arrays.binarySearch(liveIds, gradeId) >= 0;
+        }
+    }
+
+    // Result of getGradeWatermark and getCourseWatermarks; lastUpdated is epoch millis, or GradeColumns.NO_TIME with no rows.
+    public static final class GradeWatermark {
+        private final int rowCount;
+        private final long lastUpdated;
+
+        public GradeWatermark(int rowCount, long lastUpdated) {
+            this.rowCount = rowCount;
+            this.lastUpdated = lastUpdated;
+        }
+
+        public int getRowCount() { return rowCount; }
+        public long getLastUpdated() { return lastUpdated; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GradeWatermark)) return false;
+            GradeWatermark w = (GradeWatermark) o;
+            return rowCount == w.rowCount && lastUpdated == w.lastUpdated;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * rowCount + Long.hashCode(lastUpdated);
+        }
+    }
+
+    // Result of getGradeSummary; the grade values are NaN when nothing is graded yet.
+    public static class GradeSummary {
+        private final int courseCount;
+        private final int gradedCount;
+        private final double gwa;
+        private final double min;
+        private final double max;
+
+        GradeSummary(int courseCount, int gradedCount, double gwa, double min, double max) {
+            this.courseCount = courseCount;
+            this.gradedCount = gradedCount;
+            this.gwa = gwa;
+            this.min = min;
+            this.max = max;
+        }
+
+        public int getCourseCount() { return courseCount; }
+        public int getGradedCount() { return gradedCount; }
+        public double getGwa() { return gwa; }
+        public double getMin() { return min; }
+        public double getMax() { return max; }
+    }
+
+    private static double getDoubleOrNaN(ResultSet rs, String column) throws SQLException {
+        double v = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : v;
+    }
+
+    private static Double getNullableDouble(ResultSet rs, String column) throws SQLException {
+        double v = rs.getDouble(column);
+        return rs.wasNull() ? null : v;
+    }
 }
@@ -0,0 +1,203 @@
+package com.yourorg.arms.dao;
+
+import com.yourorg.arms.models.Grade;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Sort order and filters for the teacher grade listing. The order always ends with the grade
+ * id, so every row has a unique key and pages can be fetched with a keyset seek. The default
+ * order (student name, student id, course code) follows the indexes from V9 and V3; a header
+ * sort on another column sorts the filtered rows. NULLs sort first, as MySQL orders them, and
+ * the seek handles them. Immutable.
+ */
+public final class GradeListQuery {
+    public enum Column {
+        ID("g.id"),
+        STUDENT("s.full_name"),
+        COURSE_CODE("g.course_code"),
+        COURSE_NAME("g.course_name"),
+        PRELIM("g.prelim"),
+        MIDTERM("g.midterm"),
+        FINALS("g.finals"),
+        REMARKS("g.remarks"),
+        // Not a table column: splits students with the same name in the default order
+        STUDENT_ID("s.id");
+
+        final String sql;
+
+        Column(String sql) {
+            this.sql = sql;
+        }
+
+        // The value this column sorts by for a row; null where the column is NULL.
+        Object keyOf(Grade g) {
+            switch (this) {
+                case ID: return g.getId();
+                case STUDENT: return g.getStudentName();
+                case COURSE_CODE: return g.getCourseCode();
+                case COURSE_NAME: return g.getCourseName();
+                case PRELIM: return g.getPrelim();
+                case MIDTERM: return g.getMidterm();
+                case FINALS: return g.getFinals();
+                case STUDENT_ID: return g.getStudentId();
+                default: return g.getRemarks();
+            }
+        }
+    }
+
+    public static final class SortKey {
+        final Column column;
+        final boolean ascending;
+
+        public SortKey(Column column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public Column getColumn() { return column; }
+        public boolean isAscending() { return ascending; }
+    }
+
+    private static final List<SortKey> DEFAULT_ORDER = Collections.unmodifiableList(Arrays.asList(
+            new SortKey(Column.STUDENT, true), new SortKey(Column.STUDENT_ID, true),
+            new SortKey(Column.COURSE_CODE, true)));
+
+    public static final GradeListQuery DEFAULT = new GradeListQuery(DEFAULT_ORDER, null, null, null, null);
+
+    // Sort as requested, cut after the id key since nothing can follow a unique column
+    private final List<SortKey> sort;
+    // The same keys without the id, which is handled separately as the final tie-breaker
+    private final List<SortKey> seekKeys;
+    private final boolean idAscending;
+    private final String courseCode;
+    private final String remarksContains;
+    private final Double minGrade;
+    private final Double maxGrade;
+
+    private GradeListQuery(List<SortKey> sort, String courseCode, String remarksContains, Double minGrade, Double maxGrade) {
+        List<SortKey> keys = new ArrayList<>();
+        List<SortKey> seek = new ArrayList<>();
+        boolean idAsc = true;
+        for (SortKey k : sort) {
+            keys.add(k);
+            if (k.column == Column.ID) {
+                idAsc = k.ascending;
+                break;
+            }
+            seek.add(k);
+        }
+        this.sort = Collections.unmodifiableList(keys);
+        this.seekKeys = seek;
+        this.idAscending = idAsc;
+        this.courseCode = courseCode;
+        this.remarksContains = remarksContains;
+        this.minGrade = minGrade;
+        this.maxGrade = maxGrade;
+    }
+
+    // An empty list restores the default order (student, then course).
+    public GradeListQuery sortedBy(List<SortKey> keys) {
+        return new GradeListQuery(keys.isEmpty() ? DEFAULT_ORDER : keys, courseCode, remarksContains, minGrade, maxGrade);
+    }
+
+    // Null or blank arguments remove that filter. The grade range applies to the effective grade.
+    public GradeListQuery filtered(String courseCode, String remarksContains, Double minGrade, Double maxGrade) {
+        return new GradeListQuery(sort, blankToNull(courseCode), blankToNull(remarksContains), minGrade, maxGrade);
+    }
+
+    public List<SortKey> getSort() { return sort; }
+
+    // Whether changing a row from before to after leaves it at the same place in the listing:
+    // in or out of the filter alike, and with the same sort key.
+    public boolean samePlace(Grade before, Grade after) {
+        if (matches(before) != matches(after)) return false;
+        for (SortKey k : seekKeys) {
+            if (!Objects.equals(k.column.keyOf(before), k.column.keyOf(after))) return false;
+        }
+        return true;
+    }
+
+    // Java version of the filter, for deciding whether a written row belongs in the listing.
+    public boolean matches(Grade g) {
+        if (courseCode != null && !courseCode.equalsIgnoreCase(g.getCourseCode())) return false;
+        if (remarksContains != null && (g.getRemarks() == null
+                || !g.getRemarks().toLowerCase(Locale.ROOT).contains(remarksContains.toLowerCase(Locale.ROOT)))) return false;
+        if (minGrade != null || maxGrade != null) {
+            Double effective = g.getEffectiveGrade();
+            if (effective == null) return false;
+            if (minGrade != null && effective < minGrade) return false;
+            if (maxGrade != null && effective > maxGrade) return false;
+        }
+        return true;
+    }
+
+    public GradeDAO.PageKey keyOf(Grade g) {
+        Object[] values = new Object[seekKeys.size()];
+        for (int i = 0; i < values.length; i++) values[i] = seekKeys.get(i).column.keyOf(g);
+        return new GradeDAO.PageKey(values, g.getId());
+    }
+
+    // " AND ..." conditions for the filters; their parameters are appended to params.
+    String filterSql(List<Object> params) {
+        StringBuilder sql = new StringBuilder();
+        if (courseCode != null) {
+            sql.append(" AND g.course_code = ?");
+            params.add(courseCode);
+        }
+        if (remarksContains != null) {
+            sql.append(" AND g.remarks LIKE ?");
+            params.add("%" + remarksContains.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        if (minGrade != null) {
+            sql.append(" AND COALESCE(g.finals, g.midterm, g.prelim) >= ?");
+            params.add(minGrade);
+        }
+        if (maxGrade != null) {
+            sql.append(" AND COALESCE(g.finals, g.midterm, g.prelim) <= ?");
+            params.add(maxGrade);
+        }
+        return sql.toString();
+    }
+
+    String orderBySql() {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        for (SortKey k : seekKeys) {
+            sql.append(k.column.sql).append(k.ascending ? " ASC, " : " DESC, ");
+        }
+        return sql.append("g.id").append(idAscending ? " ASC" : " DESC").toString();
+    }
+
+    // " AND (...)" selecting rows that sort after the key (or before it, when after is false).
+    // NULL sorts below every value, so a NULL key, or a NULL column below a value, needs its own test.
+    String seekSql(GradeDAO.PageKey key, boolean after, List<Object> params) {
+        StringBuilder sql = new StringBuilder(" AND ");
+        for (int i = 0; i < seekKeys.size(); i++) {
+            SortKey k = seekKeys.get(i);
+            String col = k.column.sql;
+            Object value = key.values[i];
+            boolean higher = k.ascending == after;
+            if (value == null) {
+                sql.append(higher ? "(" + col + " IS NOT NULL OR (" : "((").append(col).append(" IS NULL AND ");
+                continue;
+            }
+            sql.append("(").append(col).append(higher ? " > ?" : " < ? OR " + col + " IS NULL")
+               .append(" OR (").append(col).append(" = ? AND ");
+            params.add(value);
+            params.add(value);
+        }
+        sql.append("g.id").append(idAscending == after ? " > ?" : " < ?");
+        params.add(key.id);
+        for (int i = 0; i < seekKeys.size(); i++) sql.append("))");
+        return sql.toString();
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.trim().isEmpty() ? null : s.trim();
+    }
+}
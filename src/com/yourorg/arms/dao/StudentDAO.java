@@ -2,11 +2,19 @@ package com.yourorg.arms.dao;
 
 import com.yourorg.arms.DatabaseConnector;
 import com.yourorg.arms.models.Student;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class StudentDAO {
     public Student getStudentById(int id) throws SQLException {
-        String sql = "SELECT id, student_number, username, full_name, profile_pic FROM students WHERE id = ?";
+        String sql = "/* StudentDAO.getStudentById */ SELECT id, student_number, username, full_name, profile_pic_sha256 FROM students WHERE id = ?";
         try (Connection c = DatabaseConnector.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setInt(1, id);
@@ -17,10 +25,7 @@ public class StudentDAO {
                     s.setStudentNumber(rs.getString("student_number"));
                     s.setUsername(rs.getString("username"));
                     s.setFullName(rs.getString("full_name"));
-                    Blob blob = rs.getBlob("profile_pic");
-                    if (blob != null) {
-                        s.setProfilePic(blob.getBytes(1, (int) blob.length()));
-                    }
+                    s.setProfilePicHash(rs.getString("profile_pic_sha256"));
                     return s;
                 }
             }
@@ -28,17 +33,181 @@ public class StudentDAO {
         return null;
     }
 
-    public boolean updateProfilePicture(int studentId, byte[] imageBytes) throws SQLException {
-        String sql = "UPDATE students SET profile_pic = ? WHERE id = ?";
+    // Returns the matching account including its stored password, or null if none matches.
+    // No picture data is read; see getProfileThumbnail.
+    public Student findByLogin(String studentNumber, String username) throws SQLException {
+        String sql = "/* StudentDAO.findByLogin */ SELECT id, full_name, password, profile_pic_sha256 FROM students WHERE student_number = ? AND username = ?";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, studentNumber);
+            ps.setString(2, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Student s = new Student();
+                    s.setId(rs.getInt("id"));
+                    s.setStudentNumber(studentNumber);
+                    s.setUsername(username);
+                    s.setFullName(rs.getString("full_name"));
+                    s.setPassword(rs.getString("password"));
+                    s.setProfilePicHash(rs.getString("profile_pic_sha256"));
+                    return s;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Up to limit students with an id above afterId, in id order; pass 0 for the first page.
+    public List<Student> getStudentPage(int afterId, int limit) throws SQLException {
+        String sql = "/* StudentDAO.getStudentPage */ SELECT id, student_number, full_name FROM students WHERE id > ? ORDER BY id LIMIT ?";
+        List<Student> list = new ArrayList<>(limit);
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Student s = new Student();
+                    s.setId(rs.getInt("id"));
+                    s.setStudentNumber(rs.getString("student_number"));
+                    s.setFullName(rs.getString("full_name"));
+                    list.add(s);
+                }
+            }
+        }
+        return list;
+    }
+
+    // Stores the original with its thumbnails and content hash; pass nulls to remove the picture.
+    public boolean updateProfilePicture(int studentId, byte[] imageBytes, byte[] thumbSmall, byte[] thumbLarge) throws SQLException {
+        String sql = "/* StudentDAO.updateProfilePicture */ UPDATE students SET profile_pic = ?, profile_thumb_small = ?, profile_thumb_large = ?, profile_pic_sha256 = ? WHERE id = ?";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            setBytesOrNull(ps, 1, imageBytes);
+            setBytesOrNull(ps, 2, thumbSmall);
+            setBytesOrNull(ps, 3, thumbLarge);
+            ps.setString(4, imageBytes == null ? null : sha256(imageBytes));
+            ps.setInt(5, studentId);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    // The original upload, streamed out of the row. Only needed to (re)build thumbnails.
+    public byte[] getProfilePicture(int studentId) throws SQLException {
+        String sql = "/* StudentDAO.getProfilePicture */ SELECT profile_pic FROM students WHERE id = ?";
         try (Connection c = DatabaseConnector.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
-            if (imageBytes != null) {
-                ps.setBlob(1, new javax.sql.rowset.serial.SerialBlob(imageBytes));
-            } else {
-                ps.setNull(1, Types.BLOB);
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? readStream(rs, 1) : null;
             }
+        }
+    }
+
+    /**
+     * Conditional thumbnail read. Returns null when the student has no picture. When knownHash
+     * matches the stored hash the thumbnail bytes are not sent and the result is unchanged;
+     * a result without bytes otherwise means the thumbnails still have to be generated.
+     */
+    public ProfileImage getProfileThumbnail(int studentId, boolean large, String knownHash) throws SQLException {
+        String column = large ? "profile_thumb_large" : "profile_thumb_small";
+        String sql = "/* StudentDAO.getProfileThumbnail */ SELECT profile_pic_sha256, profile_pic IS NOT NULL AS has_pic, " +
+                     "IF(profile_pic_sha256 <=> ?, NULL, " + column + ") AS thumb FROM students WHERE id = ?";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, knownHash);
             ps.setInt(2, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || !rs.getBoolean("has_pic")) return null;
+                String hash = rs.getString("profile_pic_sha256");
+                boolean unchanged = hash != null && hash.equals(knownHash);
+                return new ProfileImage(hash, unchanged ? null : readStream(rs, 3), unchanged);
+            }
+        }
+    }
+
+    // Fills in thumbnails for a picture uploaded before they existed, unless the picture was replaced meanwhile.
+    public boolean updateThumbnails(int studentId, byte[] thumbSmall, byte[] thumbLarge) throws SQLException {
+        String sql = "/* StudentDAO.updateThumbnails */ UPDATE students SET profile_thumb_small = ?, profile_thumb_large = ?, " +
+                     "profile_pic_sha256 = COALESCE(profile_pic_sha256, SHA2(profile_pic, 256)) " +
+                     "WHERE id = ? AND profile_pic IS NOT NULL AND profile_thumb_small IS NULL";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            setBytesOrNull(ps, 1, thumbSmall);
+            setBytesOrNull(ps, 2, thumbLarge);
+            ps.setInt(3, studentId);
             return ps.executeUpdate() > 0;
         }
     }
+
+    private static byte[] readStream(ResultSet rs, int column) throws SQLException {
+        try (InputStream in = rs.getBinaryStream(column)) {
+            if (in == null) return null;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SQLException("Failed to read picture data", e);
+        }
+    }
+
+    private static void setBytesOrNull(PreparedStatement ps, int index, byte[] bytes) throws SQLException {
+        if (bytes != null) {
+            ps.setBinaryStream(index, new ByteArrayInputStream(bytes), bytes.length);
+        } else {
+            ps.setNull(index, Types.BLOB);
+        }
+    }
+
+    // Lower-case hex, the same form MySQL's SHA2() produces
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Returns false when currentPassword does not match the stored one.
+    public boolean changePassword(int studentId, String currentPassword, String newPassword) throws SQLException {
+        try (Connection c = DatabaseConnector.getConnection()) {
+            try (PreparedStatement ps = c.prepareStatement("/* StudentDAO.changePassword.select */ SELECT password FROM students WHERE id = ?")) {
+                ps.setInt(1, studentId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next() || !currentPassword.equals(rs.getString("password"))) {
+                        return false;
+                    }
+                }
+            }
+            try (PreparedStatement ps = c.prepareStatement("/* StudentDAO.changePassword.update */ UPDATE students SET password = ? WHERE id = ?")) {
+                ps.setString(1, newPassword);
+                ps.setInt(2, studentId);
+                return ps.executeUpdate() > 0;
+            }
+        }
+    }
+
+    public static class ProfileImage {
+        private final String hash;
+        private final byte[] bytes;
+        private final boolean unchanged;
+
+        ProfileImage(String hash, byte[] bytes, boolean unchanged) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.unchanged = unchanged;
+        }
+
+        // SHA-256 of the original upload; null until a legacy picture is backfilled
+        public String getHash() { return hash; }
+        public byte[] getBytes() { return bytes; }
+        public boolean isUnchanged() { return unchanged; }
+    }
 }
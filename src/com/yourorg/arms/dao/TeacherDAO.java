@@ -0,0 +1,27 @@
+package com.yourorg.arms.dao;
+
+import com.yourorg.arms.DatabaseConnector;
+import com.yourorg.arms.models.Teacher;
+import java.sql.*;
+
+public class TeacherDAO {
+    // Returns the teacher account including its stored password, or null if the username is unknown.
+    public Teacher findByUsername(String username) throws SQLException {
+        String sql = "/* TeacherDAO.findByUsername */ SELECT id, full_name, password FROM teachers WHERE username = ?";
+        try (Connection c = DatabaseConnector.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Teacher t = new Teacher();
+                    t.setId(rs.getInt("id"));
+                    t.setUsername(username);
+                    t.setFullName(rs.getString("full_name"));
+                    t.setPassword(rs.getString("password"));
+                    return t;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.yourorg.arms.models;
+
+public class Course {
+    private String courseCode;
+    private String courseName;
+
+    public Course() {}
+
+    public Course(String courseCode, String courseName) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+    }
+
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    public String getCourseName() { return courseName; }
+    public void setCourseName(String courseName) { this.courseName = courseName; }
+}
@@ -1,19 +1,27 @@
 package com.yourorg.arms.models;
 
+import java.sql.Timestamp;
+
 public class Grade {
     private int id;
     private int studentId;
+    private String studentName;
     private String courseCode;
     private String courseName;
     private Double prelim;
     private Double midterm;
     private Double finals;
     private String remarks;
+    // Changes on every write; compared for equality only (see GradeDAO.saveGrade)
+    private long version;
+    private Timestamp createdAt;
 
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
     public int getStudentId() { return studentId; }
     public void setStudentId(int studentId) { this.studentId = studentId; }
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
     public String getCourseCode() { return courseCode; }
     public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
     public String getCourseName() { return courseName; }
@@ -26,4 +34,15 @@ public class Grade {
     public void setFinals(Double finals) { this.finals = finals; }
     public String getRemarks() { return remarks; }
     public void setRemarks(String remarks) { this.remarks = remarks; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public Timestamp getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Timestamp createdAt) { this.createdAt = createdAt; }
+
+    // Latest available term grade: finals, then midterm, then prelim.
+    public Double getEffectiveGrade() {
+        if (finals != null) return finals;
+        if (midterm != null) return midterm;
+        return prelim;
+    }
 }
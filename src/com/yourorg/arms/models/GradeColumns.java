@@ -0,0 +1,111 @@
+package com.yourorg.arms.models;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A list of grades (one student's, or one course's) stored column by column in parallel arrays.
+ * Term grades are plain doubles with NaN standing for "not entered", so loading, sorting and
+ * averaging never box. Sorting and filtering into a row order is done by GradeViewEngine.
+ * Rows are appended while loading; after that an instance is treated as read-only.
+ */
+public final class GradeColumns {
+    // Stored in createdAt when the row has no timestamp
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private int size;
+    private int[] ids;
+    private String[] courseCodes;
+    private String[] courseNames;
+    private double[] prelims;
+    private double[] midterms;
+    private double[] finals;
+    private String[] remarks;
+    private long[] createdAt;
+
+    public GradeColumns(int capacity) {
+        int n = Math.max(capacity, 4);
+        ids = new int[n];
+        courseCodes = new String[n];
+        courseNames = new String[n];
+        prelims = new double[n];
+        midterms = new double[n];
+        finals = new double[n];
+        remarks = new String[n];
+        createdAt = new long[n];
+    }
+
+    public static GradeColumns from(List<Grade> grades) {
+        GradeColumns cols = new GradeColumns(grades.size());
+        for (Grade g : grades) {
+            Timestamp t = g.getCreatedAt();
+            cols.add(g.getId(), g.getCourseCode(), g.getCourseName(), orNaN(g.getPrelim()), orNaN(g.getMidterm()),
+                    orNaN(g.getFinals()), g.getRemarks(), t == null ? NO_TIME : t.getTime());
+        }
+        return cols;
+    }
+
+    // Term grades are NaN when missing; createdAt is epoch millis or NO_TIME.
+    public void add(int id, String courseCode, String courseName, double prelim, double midterm, double fin,
+                    String remark, long created) {
+        if (size == ids.length) grow();
+        ids[size] = id;
+        courseCodes[size] = courseCode;
+        courseNames[size] = courseName;
+        prelims[size] = prelim;
+        midterms[size] = midterm;
+        finals[size] = fin;
+        remarks[size] = remark;
+        createdAt[size] = created;
+        size++;
+    }
+
+    // Appends a copy of one row of another list.
+    public void add(GradeColumns from, int row) {
+        add(from.ids[row], from.courseCodes[row], from.courseNames[row], from.prelims[row], from.midterms[row],
+                from.finals[row], from.remarks[row], from.createdAt[row]);
+    }
+
+    private void grow() {
+        int n = ids.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        courseCodes = Arrays.copyOf(courseCodes, n);
+        courseNames = Arrays.copyOf(courseNames, n);
+        prelims = Arrays.copyOf(prelims, n);
+        midterms = Arrays.copyOf(midterms, n);
+        finals = Arrays.copyOf(finals, n);
+        remarks = Arrays.copyOf(remarks, n);
+        createdAt = Arrays.copyOf(createdAt, n);
+    }
+
+    public int size() { return size; }
+    public int getId(int row) { return ids[row]; }
+    public String getCourseCode(int row) { return courseCodes[row]; }
+    public String getCourseName(int row) { return courseNames[row]; }
+    public double getPrelim(int row) { return prelims[row]; }
+    public double getMidterm(int row) { return midterms[row]; }
+    public double getFinals(int row) { return finals[row]; }
+    public String getRemarks(int row) { return remarks[row]; }
+    public long getCreatedAt(int row) { return createdAt[row]; }
+
+    // Latest available term grade: finals, then midterm, then prelim; NaN when none is entered.
+    public double getEffectiveGrade(int row) {
+        double v = finals[row];
+        if (v == v) return v;
+        v = midterms[row];
+        if (v == v) return v;
+        return prelims[row];
+    }
+
+    // Row indexes in load order.
+    public int[] naturalOrder() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        return order;
+    }
+
+    private static double orNaN(Double v) {
+        return v == null ? Double.NaN : v;
+    }
+}
@@ -5,7 +5,8 @@ public class Student {
     private String studentNumber;
     private String username;
     private String fullName;
-    private byte[] profilePic;
+    private String password;
+    private String profilePicHash;
 
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -19,6 +20,11 @@ public class Student {
     public String getFullName() { return fullName; }
     public void setFullName(String fullName) { this.fullName = fullName; }
 
-    public byte[] getProfilePic() { return profilePic; }
-    public void setProfilePic(byte[] profilePic) { this.profilePic = profilePic; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    // SHA-256 of the stored picture, or null when there is none (or it predates hashing).
+    // Picture bytes are never loaded with the student; see StudentDAO.getProfileThumbnail.
+    public String getProfilePicHash() { return profilePicHash; }
+    public void setProfilePicHash(String profilePicHash) { this.profilePicHash = profilePicHash; }
 }
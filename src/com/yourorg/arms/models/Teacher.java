@@ -0,0 +1,20 @@
+package com.yourorg.arms.models;
+
+public class Teacher {
+    private int id;
+    private String username;
+    private String fullName;
+    private String password;
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+}
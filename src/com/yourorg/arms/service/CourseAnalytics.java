@@ -0,0 +1,177 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.dao.GradeDAO;
+import com.yourorg.arms.models.GradeColumns;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-course grade statistics for the teacher portal. Numbers are cached per course with the
+ * course's watermark (row count and last change). Each call reads the watermarks, and only
+ * courses whose watermark moved, or that were invalidated, are re-read, in one query, and
+ * summarized in parallel. So edits made on other machines show up too. Distribution figures
+ * use each row's effective grade; pass/fail counts use finals.
+ */
+public final class CourseAnalytics {
+    public static final double PASSING_GRADE = 75.0;
+
+    private final GradeDAO gradeDAO;
+    private final Map<String, CachedStats> cache = new ConcurrentHashMap<>();
+    // Bumped by every invalidation so a load that raced with a write does not cache old numbers
+    private final AtomicLong version = new AtomicLong();
+    // One load at a time, so overlapping calls do not read the same courses twice
+    private final Object loadLock = new Object();
+
+    public CourseAnalytics(GradeDAO gradeDAO) {
+        this.gradeDAO = gradeDAO;
+    }
+
+    // Statistics for every course, ordered by course code. Blocking; call off the EDT.
+    public List<CourseStats> getAllCourseStats() throws SQLException {
+        synchronized (loadLock) {
+            long seen = version.get();
+            // One copy of the cache; an invalidation from here on only affects the next call
+            Map<String, CachedStats> cached = new HashMap<>(cache);
+            Map<String, GradeDAO.GradeWatermark> watermarks = gradeDAO.getCourseWatermarks();
+            List<String> stale = new ArrayList<>();
+            for (Map.Entry<String, GradeDAO.GradeWatermark> e : watermarks.entrySet()) {
+                CachedStats c = cached.get(e.getKey());
+                if (c == null || !c.watermark.equals(e.getValue())) stale.add(e.getKey());
+            }
+            Map<String, CourseStats> fresh = gradeDAO.getGradesByCourse(stale).entrySet().parallelStream()
+                    .map(e -> compute(e.getKey(), e.getValue()))
+                    .collect(Collectors.toMap(CourseStats::getCourseCode, stats -> stats));
+
+            List<CourseStats> all = new ArrayList<>(watermarks.size());
+            for (Map.Entry<String, GradeDAO.GradeWatermark> e : watermarks.entrySet()) {
+                CourseStats stats = fresh.get(e.getKey());
+                if (stats == null) {
+                    CachedStats c = cached.get(e.getKey());
+                    // Deleted between the two reads
+                    if (c == null || !c.watermark.equals(e.getValue())) continue;
+                    stats = c.stats;
+                } else if (version.get() == seen) {
+                    cache.put(e.getKey(), new CachedStats(stats, e.getValue()));
+                }
+                all.add(stats);
+            }
+            // Courses whose last grade is gone
+            cache.keySet().retainAll(watermarks.keySet());
+            return all;
+        }
+    }
+
+    // Call after any write to the course's grades.
+    public void invalidate(String courseCode) {
+        version.incrementAndGet();
+        if (courseCode != null) cache.remove(courseCode);
+    }
+
+    public void invalidateAll() {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    public static CourseStats compute(String courseCode, GradeColumns rows) {
+        int n = rows.size();
+        double[] values = new double[n];
+        int graded = 0, passed = 0, failed = 0, missingFinals = 0;
+        double sum = 0.0;
+        for (int r = 0; r < n; r++) {
+            double effective = rows.getEffectiveGrade(r);
+            if (effective == effective) {
+                values[graded++] = effective;
+                sum += effective;
+            }
+            double fin = rows.getFinals(r);
+            if (fin != fin) missingFinals++;
+            else if (fin >= PASSING_GRADE) passed++;
+            else failed++;
+        }
+        double[] sorted = Arrays.copyOf(values, graded);
+        // Fork/join sort once a course is large enough to benefit
+        Arrays.parallelSort(sorted);
+        double mean = graded == 0 ? Double.NaN : sum / graded;
+        double sq = 0.0;
+        for (double v : sorted) sq += (v - mean) * (v - mean);
+        double stddev = graded == 0 ? Double.NaN : Math.sqrt(sq / graded);
+        String name = n == 0 ? null : rows.getCourseName(0);
+        return new CourseStats(courseCode, name, n, graded, mean, percentile(sorted, 50), stddev,
+                percentile(sorted, 25), percentile(sorted, 75), percentile(sorted, 90), passed, failed, missingFinals);
+    }
+
+    // Linear interpolation between closest ranks; NaN for an empty sample.
+    static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return Double.NaN;
+        double rank = p / 100.0 * (sorted.length - 1);
+        int lo = (int) Math.floor(rank);
+        int hi = (int) Math.ceil(rank);
+        return sorted[lo] + (sorted[hi] - sorted[lo]) * (rank - lo);
+    }
+
+    private static class CachedStats {
+        final CourseStats stats;
+        final GradeDAO.GradeWatermark watermark;
+
+        CachedStats(CourseStats stats, GradeDAO.GradeWatermark watermark) {
+            this.stats = stats;
+            this.watermark = watermark;
+        }
+    }
+
+    public static class CourseStats {
+        private final String courseCode;
+        private final String courseName;
+        private final int students;
+        private final int graded;
+        private final double mean;
+        private final double median;
+        private final double stddev;
+        private final double p25;
+        private final double p75;
+        private final double p90;
+        private final int passed;
+        private final int failed;
+        private final int missingFinals;
+
+        CourseStats(String courseCode, String courseName, int students, int graded, double mean, double median,
+                    double stddev, double p25, double p75, double p90, int passed, int failed, int missingFinals) {
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.students = students;
+            this.graded = graded;
+            this.mean = mean;
+            this.median = median;
+            this.stddev = stddev;
+            this.p25 = p25;
+            this.p75 = p75;
+            this.p90 = p90;
+            this.passed = passed;
+            this.failed = failed;
+            this.missingFinals = missingFinals;
+        }
+
+        public String getCourseCode() { return courseCode; }
+        public String getCourseName() { return courseName; }
+        public int getStudents() { return students; }
+        public int getGraded() { return graded; }
+        // The grade figures below are NaN when no student has a grade yet.
+        public double getMean() { return mean; }
+        public double getMedian() { return median; }
+        public double getStddev() { return stddev; }
+        public double getP25() { return p25; }
+        public double getP75() { return p75; }
+        public double getP90() { return p90; }
+        public int getPassed() { return passed; }
+        public int getFailed() { return failed; }
+        public int getMissingFinals() { return missingFinals; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.DatabaseConfig;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated executor for blocking database and file I/O. Sized to the connection
+ * pool so queued work waits here rather than on a pool permit.
+ */
+public class DbExecutor {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService IO = Executors.newFixedThreadPool(DatabaseConfig.POOL_MAX_SIZE, r -> {
+        Thread t = new Thread(r, "arms-db-" + THREAD_COUNT.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private DbExecutor() {}
+
+    // Runs work on the I/O executor. Cancelling the returned future skips work that
+    // has not started yet and interrupts work that is already running.
+    public static <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = IO.submit(() -> {
+            if (result.isDone()) return;
+            try {
+                result.complete(work.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((v, t) -> {
+            if (result.isCancelled()) running.cancel(true);
+        });
+        return result;
+    }
+
+    public static void shutdown() {
+        IO.shutdownNow();
+    }
+}
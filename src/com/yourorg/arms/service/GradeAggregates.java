@@ -0,0 +1,79 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.models.GradeColumns;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running dashboard numbers for one student's grades: effective-grade sum, count, min and max,
+ * plus the distinct courses. Grades are added, changed and removed one at a time so reading
+ * the numbers never rescans the list. Not thread-safe; MainApp keeps its instance on the EDT.
+ */
+public final class GradeAggregates {
+    private double sum;
+    private int graded;
+    // Multiset of effective grades so min and max survive removals
+    private final TreeMap<Double, Integer> values = new TreeMap<>();
+    // Grades per course code; a course counts while it has at least one
+    private final Map<String, Integer> courses = new HashMap<>();
+
+    public void clear() {
+        sum = 0.0;
+        graded = 0;
+        values.clear();
+        courses.clear();
+    }
+
+    // effective is NaN for a grade with no term entered yet.
+    public void add(String courseCode, double effective) {
+        if (courseCode != null) courses.merge(courseCode, 1, Integer::sum);
+        if (effective != effective) return;
+        sum += effective;
+        graded++;
+        values.merge(effective, 1, Integer::sum);
+    }
+
+    public void remove(String courseCode, double effective) {
+        if (courseCode != null) courses.computeIfPresent(courseCode, (k, n) -> n == 1 ? null : n - 1);
+        if (effective != effective) return;
+        sum -= effective;
+        graded--;
+        values.computeIfPresent(effective, (k, n) -> n == 1 ? null : n - 1);
+        // Avoid drift once the last graded course is gone
+        if (graded == 0) sum = 0.0;
+    }
+
+    public void change(String oldCourseCode, double oldEffective, String newCourseCode, double newEffective) {
+        remove(oldCourseCode, oldEffective);
+        add(newCourseCode, newEffective);
+    }
+
+    public void addAll(GradeColumns grades) {
+        for (int r = 0; r < grades.size(); r++) {
+            add(grades.getCourseCode(r), grades.getEffectiveGrade(r));
+        }
+    }
+
+    // Row-level deltas, for callers that know which grade was added, changed or removed.
+    public void add(GradeColumns grades, int row) {
+        add(grades.getCourseCode(row), grades.getEffectiveGrade(row));
+    }
+
+    public void remove(GradeColumns grades, int row) {
+        remove(grades.getCourseCode(row), grades.getEffectiveGrade(row));
+    }
+
+    public void change(GradeColumns before, int oldRow, GradeColumns after, int newRow) {
+        change(before.getCourseCode(oldRow), before.getEffectiveGrade(oldRow),
+                after.getCourseCode(newRow), after.getEffectiveGrade(newRow));
+    }
+
+    // Average effective grade, or NaN when nothing is graded yet.
+    public double getGwa() { return graded == 0 ? Double.NaN : sum / graded; }
+    public int getGradedCount() { return graded; }
+    public double getMin() { return values.isEmpty() ? Double.NaN : values.firstKey(); }
+    public double getMax() { return values.isEmpty() ? Double.NaN : values.lastKey(); }
+    public int getCourseCount() { return courses.size(); }
+}
@@ -0,0 +1,267 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.DatabaseConnector;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Streams a grades CSV (student_number, course_code, course_name, prelim, midterm, finals, remarks)
+ * into the grades table. Rows are handled in fixed-size chunks: one query resolves the chunk's
+ * student numbers, one JDBC batch writes it, and each chunk commits on its own, so memory use does
+ * not grow with the file. Existing (student, course) grades are overwritten and get a new version,
+ * so a teacher form still showing the old values gets a conflict instead of undoing the import.
+ */
+public class GradeCsvImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 500;
+    private static final double MAX_GRADE = 999.99; // DECIMAL(5,2)
+
+    private static final String UPSERT_SQL =
+            "/* GradeCsvImporter.upsert */ INSERT INTO grades (student_id, course_code, course_name, prelim, midterm, finals, remarks) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE course_name = VALUES(course_name), prelim = VALUES(prelim), midterm = VALUES(midterm), " +
+            "finals = VALUES(finals), remarks = VALUES(remarks), version = version + 1";
+
+    private final int chunkSize;
+
+    public GradeCsvImporter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public GradeCsvImporter(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    // progress, if given, receives the number of data rows processed after each chunk (on the calling thread).
+    public ImportResult importFile(File file, IntConsumer progress) throws IOException, SQLException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return importFrom(reader, progress);
+        }
+    }
+
+    public ImportResult importFrom(Reader source, IntConsumer progress) throws IOException, SQLException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        ImportResult result = new ImportResult();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+
+        try (Connection c = DatabaseConnector.getConnection()) {
+            c.setAutoCommit(false);
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) continue;
+                if (lineNumber == 1 && line.toLowerCase().startsWith("student_number")) continue;
+
+                result.rowsRead++;
+                Row row = parseRow(lineNumber, line, result);
+                if (row != null) chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(c, chunk, result);
+                    chunk.clear();
+                    if (progress != null) progress.accept(result.rowsRead);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(c, chunk, result);
+                if (progress != null) progress.accept(result.rowsRead);
+            }
+        }
+        return result;
+    }
+
+    private void writeChunk(Connection c, List<Row> chunk, ImportResult result) throws SQLException {
+        Map<String, Integer> ids = resolveStudentIds(c, chunk);
+        List<Row> resolved = new ArrayList<>(chunk.size());
+        for (Row r : chunk) {
+            Integer id = ids.get(r.studentNumber);
+            if (id == null) {
+                result.addError(r.line, "Unknown student number '" + r.studentNumber + "'");
+            } else {
+                r.studentId = id;
+                resolved.add(r);
+            }
+        }
+        if (resolved.isEmpty()) return;
+
+        try (PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+            for (Row r : resolved) {
+                bind(ps, r);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            c.commit();
+            result.rowsImported += resolved.size();
+        } catch (SQLException batchFailure) {
+            c.rollback();
+            writeRowByRow(c, resolved, result);
+        }
+    }
+
+    // Fallback after a failed batch: retry each row alone so only the bad rows are reported.
+    private void writeRowByRow(Connection c, List<Row> rows, ImportResult result) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+            for (Row r : rows) {
+                try {
+                    bind(ps, r);
+                    ps.executeUpdate();
+                    result.rowsImported++;
+                } catch (SQLException e) {
+                    result.addError(r.line, e.getMessage());
+                }
+            }
+        }
+        c.commit();
+    }
+
+    private Map<String, Integer> resolveStudentIds(Connection c, List<Row> chunk) throws SQLException {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (Row r : chunk) distinct.add(r.studentNumber);
+        List<String> numbers = new ArrayList<>(distinct);
+        Map<String, Integer> ids = new HashMap<>();
+
+        StringBuilder sql = new StringBuilder("/* GradeCsvImporter.resolveStudentIds */ SELECT id, student_number FROM students WHERE student_number IN (");
+        for (int i = 0; i < numbers.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+        sql.append(')');
+        try (PreparedStatement ps = c.prepareStatement(sql.toString())) {
+            for (int i = 0; i < numbers.size(); i++) ps.setString(i + 1, numbers.get(i));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getString("student_number"), rs.getInt("id"));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void bind(PreparedStatement ps, Row r) throws SQLException {
+        ps.setInt(1, r.studentId);
+        ps.setString(2, r.courseCode);
+        ps.setString(3, r.courseName);
+        ps.setObject(4, r.prelim);
+        ps.setObject(5, r.midterm);
+        ps.setObject(6, r.finals);
+        ps.setString(7, r.remarks);
+    }
+
+    private static Row parseRow(int lineNumber, String line, ImportResult result) {
+        List<String> fields = splitCsvLine(line);
+        if (fields == null) {
+            result.addError(lineNumber, "Unterminated quoted field");
+            return null;
+        }
+        if (fields.size() != 7) {
+            result.addError(lineNumber, "Expected 7 columns but found " + fields.size());
+            return null;
+        }
+        Row r = new Row();
+        r.line = lineNumber;
+        r.studentNumber = fields.get(0).trim();
+        r.courseCode = fields.get(1).trim();
+        r.courseName = fields.get(2).trim();
+        r.remarks = fields.get(6).trim();
+        if (r.studentNumber.isEmpty() || r.courseCode.isEmpty()) {
+            result.addError(lineNumber, "student_number and course_code are required");
+            return null;
+        }
+        try {
+            r.prelim = parseGrade(fields.get(3));
+            r.midterm = parseGrade(fields.get(4));
+            r.finals = parseGrade(fields.get(5));
+        } catch (IllegalArgumentException e) {
+            result.addError(lineNumber, e.getMessage());
+            return null;
+        }
+        return r;
+    }
+
+    private static Double parseGrade(String text) {
+        String t = text.trim();
+        if (t.isEmpty()) return null;
+        double v;
+        try {
+            v = Double.parseDouble(t);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + t + "' is not a number");
+        }
+        if (v < 0 || v > MAX_GRADE) throw new IllegalArgumentException("Grade " + t + " is out of range");
+        return v;
+    }
+
+    // Splits one CSV record, honouring double-quoted fields and "" escapes. Returns null for an unterminated quote.
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Row {
+        int line;
+        int studentId;
+        String studentNumber;
+        String courseCode;
+        String courseName;
+        Double prelim;
+        Double midterm;
+        Double finals;
+        String remarks;
+    }
+
+    public static class ImportResult {
+        private int rowsRead;
+        private int rowsImported;
+        private int errorCount;
+        private final List<String> errors = new ArrayList<>();
+
+        void addError(int line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add("Line " + line + ": " + message);
+        }
+
+        public int getRowsRead() { return rowsRead; }
+        public int getRowsImported() { return rowsImported; }
+        public int getErrorCount() { return errorCount; }
+        // At most MAX_REPORTED_ERRORS messages; getErrorCount() has the full total.
+        public List<String> getErrors() { return errors; }
+    }
+}
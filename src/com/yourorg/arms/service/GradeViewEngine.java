@@ -0,0 +1,227 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.models.GradeColumns;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Filters and sorts a GradeColumns snapshot into a row order for StudentGradesTableModel.
+ * Each sort column is turned into one double[] of keys up front (strings become their
+ * case-insensitive rank), so the sort itself only compares primitives. The sort is a stable
+ * merge sort that splits across the common fork/join pool once the view is large enough.
+ * Pure function of its inputs; run it off the EDT and swap the result into the table model.
+ */
+public final class GradeViewEngine {
+    // Below this many rows a parallel sort costs more than it saves
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    public enum Column { COURSE_CODE, COURSE_NAME, PRELIM, MIDTERM, FINALS, REMARKS, EFFECTIVE }
+
+    public static final class SortKey {
+        private final Column column;
+        private final boolean ascending;
+
+        public SortKey(Column column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public Column getColumn() { return column; }
+        public boolean isAscending() { return ascending; }
+    }
+
+    // Row filters; null fields are not applied. The grade range applies to the effective grade.
+    public static final class Filter {
+        public static final Filter NONE = new Filter(null, null, null, null);
+
+        private final String course;
+        private final String remarks;
+        private final Double minGrade;
+        private final Double maxGrade;
+
+        // course matches the code or name and remarks matches anywhere in the text, ignoring case.
+        public Filter(String course, String remarks, Double minGrade, Double maxGrade) {
+            this.course = lower(course);
+            this.remarks = lower(remarks);
+            this.minGrade = minGrade;
+            this.maxGrade = maxGrade;
+        }
+
+        public boolean isEmpty() {
+            return course == null && remarks == null && minGrade == null && maxGrade == null;
+        }
+
+        boolean matches(GradeColumns rows, int r) {
+            if (course != null && !contains(rows.getCourseCode(r), course) && !contains(rows.getCourseName(r), course)) return false;
+            if (remarks != null && !contains(rows.getRemarks(r), remarks)) return false;
+            if (minGrade != null || maxGrade != null) {
+                double effective = rows.getEffectiveGrade(r);
+                if (effective != effective) return false;
+                if (minGrade != null && effective < minGrade) return false;
+                if (maxGrade != null && effective > maxGrade) return false;
+            }
+            return true;
+        }
+
+        private static boolean contains(String text, String part) {
+            return text != null && text.toLowerCase(Locale.ROOT).contains(part);
+        }
+
+        private static String lower(String s) {
+            return s == null || s.trim().isEmpty() ? null : s.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private GradeViewEngine() {
+    }
+
+    // Row indexes passing the filter, in sort order; rows that tie on every key keep load order.
+    public static int[] view(GradeColumns rows, List<SortKey> sort, Filter filter) {
+        int[] order = new int[rows.size()];
+        int n = 0;
+        for (int r = 0; r < rows.size(); r++) {
+            if (filter.isEmpty() || filter.matches(rows, r)) order[n++] = r;
+        }
+        if (n < order.length) {
+            int[] kept = new int[n];
+            System.arraycopy(order, 0, kept, 0, n);
+            order = kept;
+        }
+        if (sort.isEmpty() || n < 2) return order;
+
+        double[][] keys = new double[sort.size()][];
+        boolean[] ascending = new boolean[sort.size()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = keysFor(rows, sort.get(k).getColumn());
+            ascending[k] = sort.get(k).isAscending();
+        }
+        sort(order, (a, b) -> {
+            for (int k = 0; k < keys.length; k++) {
+                int c = Double.compare(keys[k][a], keys[k][b]);
+                if (c != 0) return ascending[k] ? c : -c;
+            }
+            return 0;
+        });
+        return order;
+    }
+
+    // One key per row; a missing grade sorts below every entered grade.
+    static double[] keysFor(GradeColumns rows, Column column) {
+        int n = rows.size();
+        double[] keys = new double[n];
+        switch (column) {
+            case COURSE_CODE:
+            case COURSE_NAME:
+            case REMARKS:
+                String[] text = new String[n];
+                for (int r = 0; r < n; r++) text[r] = textOf(rows, column, r);
+                rank(text, keys);
+                return keys;
+            default:
+                for (int r = 0; r < n; r++) {
+                    double v = gradeOf(rows, column, r);
+                    keys[r] = v == v ? v : Double.NEGATIVE_INFINITY;
+                }
+                return keys;
+        }
+    }
+
+    private static String textOf(GradeColumns rows, Column column, int r) {
+        switch (column) {
+            case COURSE_CODE: return rows.getCourseCode(r);
+            case COURSE_NAME: return rows.getCourseName(r);
+            default: return rows.getRemarks(r);
+        }
+    }
+
+    private static double gradeOf(GradeColumns rows, Column column, int r) {
+        switch (column) {
+            case PRELIM: return rows.getPrelim(r);
+            case MIDTERM: return rows.getMidterm(r);
+            case FINALS: return rows.getFinals(r);
+            default: return rows.getEffectiveGrade(r);
+        }
+    }
+
+    // Writes each string's position among the distinct values (ignoring case, nulls first) into ranks.
+    private static void rank(String[] text, double[] ranks) {
+        int[] order = new int[text.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        sort(order, (a, b) -> compareText(text[a], text[b]));
+        int rank = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && compareText(text[order[i - 1]], text[order[i]]) != 0) rank++;
+            ranks[order[i]] = rank;
+        }
+    }
+
+    private static int compareText(String x, String y) {
+        if (x == null) return y == null ? 0 : -1;
+        if (y == null) return 1;
+        return String.CASE_INSENSITIVE_ORDER.compare(x, y);
+    }
+
+    interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    static void sort(int[] order, RowComparator cmp) {
+        int[] tmp = new int[order.length];
+        if (order.length >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new MergeTask(order, tmp, cmp, 0, order.length));
+        } else {
+            mergeSort(order, tmp, cmp, 0, order.length);
+        }
+    }
+
+    // Stable top-down merge sort of order[from, to), using tmp as scratch.
+    private static void mergeSort(int[] order, int[] tmp, RowComparator cmp, int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(order, tmp, cmp, from, mid);
+        mergeSort(order, tmp, cmp, mid, to);
+        merge(order, tmp, cmp, from, mid, to);
+    }
+
+    private static void merge(int[] order, int[] tmp, RowComparator cmp, int from, int mid, int to) {
+        if (cmp.compare(order[mid - 1], order[mid]) <= 0) return;
+        System.arraycopy(order, from, tmp, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            order[k++] = cmp.compare(tmp[j], tmp[i]) < 0 ? tmp[j++] : tmp[i++];
+        }
+        while (i < mid) order[k++] = tmp[i++];
+        while (j < to) order[k++] = tmp[j++];
+    }
+
+    // The same merge sort with both halves sorted in parallel until they get small
+    private static class MergeTask extends RecursiveAction {
+        private final int[] order;
+        private final int[] tmp;
+        private final RowComparator cmp;
+        private final int from;
+        private final int to;
+
+        MergeTask(int[] order, int[] tmp, RowComparator cmp, int from, int to) {
+            this.order = order;
+            this.tmp = tmp;
+            this.cmp = cmp;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                mergeSort(order, tmp, cmp, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeTask(order, tmp, cmp, from, mid), new MergeTask(order, tmp, cmp, mid, to));
+            merge(order, tmp, cmp, from, mid, to);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.dao.GradeDAO;
+import com.yourorg.arms.models.Grade;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Write-behind queue for teacher grade edits. Edits are coalesced per student and course, and
+ * each one is appended to a local journal (and synced to disk) before enqueue returns, so a
+ * crash loses nothing: open() replays the journal. flush() writes everything queued in one
+ * transaction and compacts the journal to whatever is still pending. Each edit carries the
+ * version it was based on, so rows changed or deleted by someone else in the meantime come
+ * back as conflicts instead of being overwritten or written back. Thread-safe; edits may be
+ * queued during a flush.
+ */
+public final class GradeWriteQueue {
+    private static final String SAVE = "S";
+    private static final String DISCARD = "D";
+    private static final String NULL = "\\N";
+
+    private final GradeDAO gradeDAO;
+    private final Path journal;
+    private final Map<String, Edit> pending = new LinkedHashMap<>();
+    // Only one flush at a time, so a batch is never written twice
+    private final Object flushLock = new Object();
+
+    private GradeWriteQueue(GradeDAO gradeDAO, Path journal) {
+        this.gradeDAO = gradeDAO;
+        this.journal = journal;
+    }
+
+    // Opens the queue kept in this journal file, restoring any edits left in it.
+    public static GradeWriteQueue open(GradeDAO gradeDAO, Path journal) throws IOException {
+        GradeWriteQueue queue = new GradeWriteQueue(gradeDAO, journal);
+        Files.createDirectories(journal.toAbsolutePath().getParent());
+        if (Files.exists(journal)) {
+            queue.replay();
+            // Drops a torn last line so later appends start on a line of their own
+            queue.compact();
+        }
+        return queue;
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    // The queued values for this student and course, or null if nothing is queued.
+    public synchronized Grade getPending(int studentId, String courseCode) {
+        Edit e = pending.get(key(studentId, courseCode));
+        return e == null ? null : copy(e.grade);
+    }
+
+    // Queues the grade. expectedVersion is the version the edit is based on (GradeDAO.NEW_GRADE
+    // for a new grade); if the grade is already queued, the first edit's version is kept.
+    public synchronized void enqueue(Grade g, long expectedVersion) throws IOException {
+        String key = key(g.getStudentId(), g.getCourseCode());
+        Edit previous = pending.get(key);
+        Edit edit = new Edit(copy(g), previous == null ? expectedVersion : previous.expectedVersion);
+        append(encode(edit));
+        pending.put(key, edit);
+    }
+
+    // Drops the queued edit for this student and course, if any.
+    public synchronized void discard(int studentId, String courseCode) throws IOException {
+        String key = key(studentId, courseCode);
+        if (!pending.containsKey(key)) return;
+        append(DISCARD + "\t" + studentId + "\t" + escape(courseCode));
+        pending.remove(key);
+    }
+
+    // Writes all queued edits in one transaction. Saved edits leave the queue unless they were
+    // edited again meanwhile, in which case the newer edit stays, based on the version just
+    // written. Conflicting edits leave the queue and the latest edit to each grade is reported
+    // with the current row, or with none if the grade was deleted. If the transaction fails
+    // nothing leaves the queue and the exception is thrown.
+    public FlushResult flush() throws SQLException, IOException {
+        synchronized (flushLock) {
+            List<Edit> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(pending.values());
+            }
+            if (batch.isEmpty()) return new FlushResult(0, Collections.<Conflict>emptyList());
+
+            List<Grade> grades = new ArrayList<>(batch.size());
+            long[] versions = new long[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                grades.add(batch.get(i).grade);
+                versions[i] = batch.get(i).expectedVersion;
+            }
+            List<GradeDAO.SaveResult> results = gradeDAO.saveGrades(grades, versions);
+
+            int saved = 0;
+            List<Conflict> conflicts = new ArrayList<>();
+            synchronized (this) {
+                for (int i = 0; i < batch.size(); i++) {
+                    Edit sent = batch.get(i);
+                    GradeDAO.SaveResult result = results.get(i);
+                    String key = key(sent.grade.getStudentId(), sent.grade.getCourseCode());
+                    Edit current = pending.get(key);
+                    // A replayed edit whose earlier flush committed before the journal was compacted.
+                    // An edit to a deleted grade has no row to match and stays a conflict.
+                    boolean alreadyStored = result.getStatus() == GradeDAO.SaveStatus.CONFLICT && sameValues(sent.grade, result.getRow());
+                    if (result.getStatus() == GradeDAO.SaveStatus.CONFLICT && !alreadyStored) {
+                        // An edit queued during the flush replaces the one sent, so it is the one reported
+                        if (current != null) pending.remove(key);
+                        conflicts.add(new Conflict(current != null ? current.grade : sent.grade, result.getRow()));
+                        continue;
+                    }
+                    saved++;
+                    if (current == sent) pending.remove(key);
+                    else if (current != null) pending.put(key, new Edit(current.grade, result.getRow().getVersion()));
+                }
+                compact();
+            }
+            return new FlushResult(saved, conflicts);
+        }
+    }
+
+    private void replay() throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split("\t", -1);
+                // A torn last line from a crash mid-append was never acknowledged
+                if (f[0].equals(SAVE) && f.length == 10) {
+                    Edit e = decode(f);
+                    pending.put(key(e.grade.getStudentId(), e.grade.getCourseCode()), e);
+                } else if (f[0].equals(DISCARD) && f.length == 3) {
+                    pending.remove(key(Integer.parseInt(f[1]), unescape(f[2])));
+                }
+            }
+        }
+    }
+
+    private void append(String line) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(journal.toFile(), true)) {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+    }
+
+    // Rewrites the journal with just the pending edits, replacing it atomically.
+    private void compact() throws IOException {
+        Path tmp = journal.resolveSibling(journal.getFileName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+            for (Edit e : pending.values()) out.write((encode(e) + "\n").getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        Files.move(tmp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String encode(Edit e) {
+        Grade g = e.grade;
+        return String.join("\t", SAVE, String.valueOf(g.getStudentId()), escape(g.getStudentName()),
+                escape(g.getCourseCode()), escape(g.getCourseName()), number(g.getPrelim()),
+                number(g.getMidterm()), number(g.getFinals()), escape(g.getRemarks()),
+                String.valueOf(e.expectedVersion));
+    }
+
+    private static Edit decode(String[] f) {
+        Grade g = new Grade();
+        g.setStudentId(Integer.parseInt(f[1]));
+        g.setStudentName(unescape(f[2]));
+        g.setCourseCode(unescape(f[3]));
+        g.setCourseName(unescape(f[4]));
+        g.setPrelim(f[5].equals(NULL) ? null : Double.valueOf(f[5]));
+        g.setMidterm(f[6].equals(NULL) ? null : Double.valueOf(f[6]));
+        g.setFinals(f[7].equals(NULL) ? null : Double.valueOf(f[7]));
+        g.setRemarks(unescape(f[8]));
+        return new Edit(g, Long.parseLong(f[9]));
+    }
+
+    private static String number(Double d) {
+        return d == null ? NULL : d.toString();
+    }
+
+    private static String escape(String s) {
+        if (s == null) return NULL;
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\') out.append("\\\\");
+            else if (c == '\t') out.append("\\t");
+            else if (c == '\n') out.append("\\n");
+            else if (c == '\r') out.append("\\r");
+            else out.append(c);
+        }
+        return out.toString();
+    }
+
+    private static String unescape(String s) {
+        if (s.equals(NULL)) return null;
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) {
+                out.append(c);
+                continue;
+            }
+            char next = s.charAt(++i);
+            out.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+        }
+        return out.toString();
+    }
+
+    private static boolean sameValues(Grade queued, Grade stored) {
+        return stored != null
+                && (queued.getCourseName() == null || queued.getCourseName().equals(stored.getCourseName()))
+                && Objects.equals(queued.getPrelim(), stored.getPrelim())
+                && Objects.equals(queued.getMidterm(), stored.getMidterm())
+                && Objects.equals(queued.getFinals(), stored.getFinals())
+                && Objects.equals(queued.getRemarks(), stored.getRemarks());
+    }
+
+    private static String key(int studentId, String courseCode) {
+        return studentId + ":" + courseCode;
+    }
+
+    private static Grade copy(Grade g) {
+        Grade c = new Grade();
+        c.setStudentId(g.getStudentId());
+        c.setStudentName(g.getStudentName());
+        c.setCourseCode(g.getCourseCode());
+        c.setCourseName(g.getCourseName());
+        c.setPrelim(g.getPrelim());
+        c.setMidterm(g.getMidterm());
+        c.setFinals(g.getFinals());
+        c.setRemarks(g.getRemarks());
+        return c;
+    }
+
+    private static class Edit {
+        final Grade grade;
+        final long expectedVersion;
+
+        Edit(Grade grade, long expectedVersion) {
+            this.grade = grade;
+            this.expectedVersion = expectedVersion;
+        }
+    }
+
+    // An edit that was not written because the row changed, or was deleted, since the edit was made
+    public static final class Conflict {
+        private final Grade queued;
+        private final Grade current;
+
+        Conflict(Grade queued, Grade current) {
+            this.queued = queued;
+            this.current = current;
+        }
+
+        public Grade getQueued() { return queued; }
+        // The stored row, or null if it was deleted
+        public Grade getCurrent() { return current; }
+        public boolean isDeleted() { return current == null; }
+    }
+
+    public static final class FlushResult {
+        private final int saved;
+        private final List<Conflict> conflicts;
+
+        FlushResult(int saved, List<Conflict> conflicts) {
+            this.saved = saved;
+            this.conflicts = conflicts;
+        }
+
+        public int getSaved() { return saved; }
+        public List<Conflict> getConflicts() { return conflicts; }
+    }
+}
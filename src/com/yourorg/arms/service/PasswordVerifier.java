@@ -0,0 +1,102 @@
+package com.yourorg.arms.service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Salted PBKDF2 hash of a password, for checking a login without the database. The password
+ * itself is never kept. Hashing is deliberately slow (about a tenth of a second), so create and
+ * check verifiers off the EDT. The one PBKDF2 result yields both the stored hash and a key for
+ * sealing the student's snapshot; the key is only known to a verifier made or unlocked with the
+ * password, and is never stored. Immutable.
+ */
+public final class PasswordVerifier {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int ITERATIONS = 100_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    // AES-128, which every Java 8 runtime allows without the unlimited-strength policy
+    private static final int KEY_BYTES = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final byte[] salt;
+    private final int iterations;
+    private final byte[] hash;
+    // Null unless the password was given to this instance
+    private final byte[] key;
+
+    public PasswordVerifier(byte[] salt, int iterations, byte[] hash) {
+        this(salt, iterations, hash, null);
+    }
+
+    private PasswordVerifier(byte[] salt, int iterations, byte[] hash, byte[] key) {
+        this.salt = salt.clone();
+        this.iterations = iterations;
+        this.hash = hash.clone();
+        this.key = key;
+    }
+
+    // A verifier for this password with a fresh salt, holding the password's key.
+    public static PasswordVerifier create(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] secret = derive(password, salt, ITERATIONS);
+        return new PasswordVerifier(salt, ITERATIONS, expand(secret, "verify"),
+                Arrays.copyOf(expand(secret, "snapshot key"), KEY_BYTES));
+    }
+
+    // This verifier holding the password's key if the password matches, otherwise null.
+    public PasswordVerifier unlock(String password) {
+        if (password == null) return null;
+        byte[] secret = derive(password, salt, iterations);
+        if (!MessageDigest.isEqual(hash, expand(secret, "verify"))) return null;
+        return new PasswordVerifier(salt, iterations, hash, Arrays.copyOf(expand(secret, "snapshot key"), KEY_BYTES));
+    }
+
+    // True if both were made from the same password hash, so one matching implies the other does.
+    // Compares bytes only; no hashing.
+    public boolean sameAs(PasswordVerifier other) {
+        return other != null && iterations == other.iterations && MessageDigest.isEqual(salt, other.salt)
+                && MessageDigest.isEqual(hash, other.hash);
+    }
+
+    public byte[] getSalt() { return salt.clone(); }
+    public int getIterations() { return iterations; }
+    public byte[] getHash() { return hash.clone(); }
+
+    // For StudentSnapshot only
+    SecretKeySpec key() {
+        if (key == null) throw new IllegalStateException("Verifier was not unlocked with the password");
+        return new SecretKeySpec(key, "AES");
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // Every Java 8 runtime ships this algorithm
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // Separate values for the hash and the key, neither revealing the other
+    private static byte[] expand(byte[] secret, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
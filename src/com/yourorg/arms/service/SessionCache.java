@@ -0,0 +1,67 @@
+package com.yourorg.arms.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recently verified student logins, so a repeat login on a shared machine can skip the
+ * database check. Entries are keyed by student number and username and hold the student's
+ * identity with a PasswordVerifier, never the password. An entry expires a fixed time after
+ * it was verified, and the least recently used one is dropped once the cache is full.
+ * get() does not check the password; the caller checks it against the entry's verifier, so
+ * one hash can serve both the cache and the local snapshot. Thread-safe.
+ */
+public final class SessionCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, CachedLogin> entries;
+
+    public SessionCache(int maxEntries, long ttl, TimeUnit unit) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<String, CachedLogin>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedLogin> eldest) {
+                return size() > SessionCache.this.maxEntries;
+            }
+        };
+    }
+
+    // The identity last verified for this login, if that was recently, otherwise null.
+    public synchronized StudentSnapshot.Owner get(String studentNumber, String username) {
+        String key = key(studentNumber, username);
+        CachedLogin e = entries.get(key);
+        if (e == null) return null;
+        if (System.nanoTime() - e.expiresAt >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return e.owner;
+    }
+
+    // Remembers a login the database just accepted, restarting its time to live.
+    public synchronized void put(StudentSnapshot.Owner owner) {
+        entries.put(key(owner.getStudentNumber(), owner.getUsername()), new CachedLogin(owner, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized void invalidate(String studentNumber, String username) {
+        entries.remove(key(studentNumber, username));
+    }
+
+    // Ignores case, as the database does when it looks the login up
+    private static String key(String studentNumber, String username) {
+        return studentNumber.trim().toLowerCase(Locale.ROOT) + "\u0000" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class CachedLogin {
+        final StudentSnapshot.Owner owner;
+        final long expiresAt;
+
+        CachedLogin(StudentSnapshot.Owner owner, long expiresAt) {
+            this.owner = owner;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.models.Student;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix search over student numbers and name words. Every key is kept in one sorted array,
+ * so a lookup is a binary search plus a short scan. Matching ignores case and accents
+ * ("jose" finds "José"). Instances are immutable; plus() returns a bigger index, which lets
+ * the roster be indexed page by page off the EDT while earlier pages are already searchable.
+ */
+public final class StudentSearchIndex {
+    public static final StudentSearchIndex EMPTY = new StudentSearchIndex(new Student[0], new String[0], new String[0], new int[0]);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Student[] students;
+    // Normalized " number word word" per student, for checking the other words of a query
+    private final String[] texts;
+    private final String[] keys;
+    private final int[] owners;
+
+    private StudentSearchIndex(Student[] students, String[] texts, String[] keys, int[] owners) {
+        this.students = students;
+        this.texts = texts;
+        this.keys = keys;
+        this.owners = owners;
+    }
+
+    public int size() {
+        return students.length;
+    }
+
+    // A new index holding these students as well; cost is linear in the combined size.
+    public StudentSearchIndex plus(List<Student> more) {
+        int base = students.length;
+        Student[] allStudents = Arrays.copyOf(students, base + more.size());
+        String[] allTexts = Arrays.copyOf(texts, base + more.size());
+        List<Entry> added = new ArrayList<>();
+        for (int i = 0; i < more.size(); i++) {
+            Student s = more.get(i);
+            int owner = base + i;
+            allStudents[owner] = s;
+            String number = normalize(s.getStudentNumber());
+            String name = normalize(s.getFullName());
+            allTexts[owner] = " " + number + " " + name;
+            if (!number.isEmpty()) added.add(new Entry(number, owner));
+            for (String word : name.split(" ")) {
+                if (!word.isEmpty()) added.add(new Entry(word, owner));
+            }
+        }
+        added.sort((a, b) -> a.key.compareTo(b.key));
+
+        // Merge the sorted new entries into the existing arrays
+        int n = keys.length + added.size();
+        String[] mergedKeys = new String[n];
+        int[] mergedOwners = new int[n];
+        int i = 0, j = 0, k = 0;
+        while (i < keys.length || j < added.size()) {
+            if (j == added.size() || (i < keys.length && keys[i].compareTo(added.get(j).key) <= 0)) {
+                mergedKeys[k] = keys[i];
+                mergedOwners[k++] = owners[i++];
+            } else {
+                Entry e = added.get(j++);
+                mergedKeys[k] = e.key;
+                mergedOwners[k++] = e.owner;
+            }
+        }
+        return new StudentSearchIndex(allStudents, allTexts, mergedKeys, mergedOwners);
+    }
+
+    // Students with a number or name word starting with each word of the query, at most limit.
+    public List<Student> search(String query, int limit) {
+        String q = normalize(query);
+        List<Student> result = new ArrayList<>();
+        if (q.isEmpty()) return result;
+        String[] words = q.split(" ");
+        // Seek on the longest word; it has the narrowest range
+        String seek = words[0];
+        for (String w : words) if (w.length() > seek.length()) seek = w;
+
+        Set<Integer> seen = new HashSet<>();
+        for (int pos = lowerBound(seek); pos < keys.length && keys[pos].startsWith(seek); pos++) {
+            int owner = owners[pos];
+            if (!seen.add(owner) || !matchesAll(texts[owner], words)) continue;
+            result.add(students[owner]);
+            if (result.size() == limit) break;
+        }
+        return result;
+    }
+
+    private static boolean matchesAll(String text, String[] words) {
+        for (String w : words) {
+            if (!text.contains(" " + w)) return false;
+        }
+        return true;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Lower case, accents removed, words separated by single spaces.
+    static String normalize(String s) {
+        if (s == null) return "";
+        String decomposed = Normalizer.normalize(s, Normalizer.Form.NFD);
+        String plain = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(plain).replaceAll(" ").trim();
+    }
+
+    private static class Entry {
+        final String key;
+        final int owner;
+
+        Entry(String key, int owner) {
+            this.key = key;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.dao.GradeDAO;
+import com.yourorg.arms.models.GradeColumns;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The logged-in student's grades and most recent rows, built from a single grades query.
+ * Instances are never modified; a refresh publishes a new snapshot with the changed rows
+ * merged in. Dashboard totals are kept separately in GradeAggregates.
+ */
+public final class StudentSession {
+    public static final int RECENT_LIMIT = 5;
+
+    private final int studentId;
+    private final String fullName;
+    private final GradeColumns grades;
+    private final int[] recentRows;
+
+    public StudentSession(int studentId, String fullName, GradeColumns grades) {
+        this.studentId = studentId;
+        this.fullName = fullName;
+        this.grades = grades;
+        this.recentRows = mostRecent(grades, RECENT_LIMIT);
+    }
+
+    // Rows with the newest created_at (undated last), newest id first on ties.
+    private static int[] mostRecent(GradeColumns grades, int limit) {
+        int[] top = new int[Math.min(limit, grades.size())];
+        int count = 0;
+        for (int row = 0; row < grades.size(); row++) {
+            int pos = count;
+            while (pos > 0 && newer(grades, row, top[pos - 1])) pos--;
+            if (pos >= top.length) continue;
+            System.arraycopy(top, pos, top, pos + 1, Math.min(count, top.length - 1) - pos);
+            top[pos] = row;
+            if (count < top.length) count++;
+        }
+        return top;
+    }
+
+    private static boolean newer(GradeColumns grades, int a, int b) {
+        long ta = grades.getCreatedAt(a), tb = grades.getCreatedAt(b);
+        if (ta != tb) return ta > tb;
+        return grades.getId(a) > grades.getId(b);
+    }
+
+    // Same student with changes merged in: a changed row replaces the row with its id or is
+    // appended, and rows that are no longer live are dropped. stats is moved by exactly the rows
+    // added, changed and removed.
+    public StudentSession withChanges(GradeDAO.GradeChanges changes, GradeAggregates stats) {
+        GradeColumns changed = changes.getChanged();
+        Map<Integer, Integer> changedRows = new HashMap<>(changed.size() * 2);
+        for (int r = 0; r < changed.size(); r++) changedRows.put(changed.getId(r), r);
+        GradeColumns next = new GradeColumns(grades.size() + changed.size());
+        for (int r = 0; r < grades.size(); r++) {
+            int id = grades.getId(r);
+            Integer c = changedRows.remove(id);
+            if (!changes.isLive(id)) {
+                stats.remove(grades, r);
+            } else if (c != null) {
+                stats.change(grades, r, changed, c);
+                next.add(changed, c);
+            } else {
+                next.add(grades, r);
+            }
+        }
+        for (int r = 0; r < changed.size(); r++) {
+            // Left over are new rows, unless they were deleted again between the two reads
+            if (changedRows.containsKey(changed.getId(r)) && changes.isLive(changed.getId(r))) {
+                stats.add(changed, r);
+                next.add(changed, r);
+            }
+        }
+        return new StudentSession(studentId, fullName, next);
+    }
+
+    public int getStudentId() { return studentId; }
+    public String getFullName() { return fullName; }
+    public GradeColumns getGrades() { return grades; }
+    // Row indexes into getGrades(), newest first, at most RECENT_LIMIT of them.
+    public int[] getRecentRows() { return recentRows.clone(); }
+}
@@ -0,0 +1,309 @@
+package com.yourorg.arms.service;
+
+import com.yourorg.arms.dao.GradeDAO;
+import com.yourorg.arms.models.GradeColumns;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.AclEntry;
+import java.nio.file.attribute.AclEntryPermission;
+import java.nio.file.attribute.AclEntryType;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * One student's grades saved on this machine, so the portal can open before the database
+ * answers, or without it. The file is a compact binary image (header, grade columns, CRC)
+ * read into a heap buffer in one go. It is not memory-mapped: on Windows a mapping keeps the
+ * file from being replaced or deleted until it is garbage collected. The header holds the
+ * login identity with a PasswordVerifier and the grade watermark the snapshot was taken at,
+ * so a later check can tell whether it is stale. The grades are sealed with AES-GCM under the
+ * verifier's key, so only someone who knows the password can read them, and the file is
+ * readable by its owner only. Immutable.
+ */
+public final class StudentSnapshot {
+    private static final int MAGIC = 0x41524D53; // "ARMS"
+    private static final int FORMAT = 2;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Far above any real student's grade list; anything bigger is not one of our files
+    private static final long MAX_FILE_SIZE = 16L << 20;
+
+    private final Owner owner;
+    private final GradeDAO.GradeWatermark watermark;
+    // Null while sealed: a snapshot as read, until open() is given the password's key
+    private final GradeColumns grades;
+    private final byte[] header;
+    private final byte[] sealed;
+
+    public StudentSnapshot(Owner owner, GradeDAO.GradeWatermark watermark, GradeColumns grades) {
+        this(owner, watermark, grades, null, null);
+    }
+
+    private StudentSnapshot(Owner owner, GradeDAO.GradeWatermark watermark, GradeColumns grades,
+                            byte[] header, byte[] sealed) {
+        this.owner = owner;
+        this.watermark = watermark;
+        this.grades = grades;
+        this.header = header;
+        this.sealed = sealed;
+    }
+
+    public Owner getOwner() { return owner; }
+    public GradeDAO.GradeWatermark getWatermark() { return watermark; }
+    public GradeColumns getGrades() { return grades; }
+
+    // This snapshot with its grades readable, given a verifier unlocked with the password; null if
+    // that key does not open it (another password, or a damaged file).
+    public StudentSnapshot open(PasswordVerifier unlocked) {
+        if (sealed == null) return this;
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, unlocked.key(), new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+            cipher.updateAAD(header);
+            ByteBuffer buf = ByteBuffer.wrap(cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES));
+            int rows = buf.getInt();
+            if (rows < 0) return null;
+            GradeColumns grades = new GradeColumns(rows);
+            for (int r = 0; r < rows; r++) {
+                grades.add(buf.getInt(), getString(buf), getString(buf), buf.getDouble(), buf.getDouble(),
+                        buf.getDouble(), getString(buf), buf.getLong());
+            }
+            return new StudentSnapshot(owner.withVerifier(unlocked), watermark, grades);
+        } catch (GeneralSecurityException | BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // File name for a student number; hashed so any number makes a safe name.
+    public static Path pathFor(Path dir, String studentNumber) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(studentNumber.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder("student-");
+            for (int i = 0; i < 12; i++) name.append(String.format("%02x", digest[i]));
+            return dir.resolve(name.append(".snap").toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The sealed snapshot in this file, or null if there is none or it is damaged or from another format.
+    public static StudentSnapshot read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < 12 || size > MAX_FILE_SIZE) return null;
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && ch.read(buf) >= 0) { }
+            if (buf.hasRemaining()) return null;
+            buf.flip();
+            ByteBuffer body = buf.duplicate();
+            body.limit((int) size - 4);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != buf.getInt((int) size - 4)) return null;
+            buf.limit((int) size - 4);
+            return decode(buf);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static StudentSnapshot decode(ByteBuffer buf) {
+        try {
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT) return null;
+            int studentId = buf.getInt();
+            String studentNumber = getString(buf);
+            String username = getString(buf);
+            String fullName = getString(buf);
+            byte[] salt = getBytes(buf);
+            int iterations = buf.getInt();
+            byte[] hash = getBytes(buf);
+            GradeDAO.GradeWatermark watermark = new GradeDAO.GradeWatermark(buf.getInt(), buf.getLong());
+            byte[] header = Arrays.copyOf(buf.array(), buf.position());
+            byte[] sealed = getBytes(buf);
+            if (sealed == null || sealed.length < IV_BYTES) return null;
+            Owner owner = new Owner(studentId, studentNumber, username, fullName, new PasswordVerifier(salt, iterations, hash));
+            return new StudentSnapshot(owner, watermark, null, header, sealed);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Writes the snapshot to a temporary file and moves it over the old one, so a reader never
+    // sees a half-written file. If the old file cannot be replaced (on Windows, while another
+    // program has it open) it is left as it was and the exception is thrown. The owner's verifier
+    // must hold the password's key, which seals the grades.
+    public void write(Path file) throws IOException {
+        if (grades == null) throw new IllegalStateException("Snapshot is sealed");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + grades.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeInt(owner.studentId);
+        putString(out, owner.studentNumber);
+        putString(out, owner.username);
+        putString(out, owner.fullName);
+        putBytes(out, owner.verifier.getSalt());
+        out.writeInt(owner.verifier.getIterations());
+        putBytes(out, owner.verifier.getHash());
+        out.writeInt(watermark.getRowCount());
+        out.writeLong(watermark.getLastUpdated());
+        putBytes(out, seal(bytes.toByteArray()));
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel ch = createPrivate(tmp)) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+                while (buf.hasRemaining()) ch.write(buf);
+                ch.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    // IV and AES-GCM ciphertext of the grade rows, authenticated together with the header.
+    private byte[] seal(byte[] header) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + grades.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(grades.size());
+        for (int r = 0; r < grades.size(); r++) {
+            out.writeInt(grades.getId(r));
+            putString(out, grades.getCourseCode(r));
+            putString(out, grades.getCourseName(r));
+            out.writeDouble(grades.getPrelim(r));
+            out.writeDouble(grades.getMidterm(r));
+            out.writeDouble(grades.getFinals(r));
+            putString(out, grades.getRemarks(r));
+            out.writeLong(grades.getCreatedAt(r));
+        }
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, owner.verifier.key(), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(header);
+            byte[] sealed = cipher.doFinal(bytes.toByteArray());
+            byte[] result = Arrays.copyOf(iv, IV_BYTES + sealed.length);
+            System.arraycopy(sealed, 0, result, IV_BYTES, sealed.length);
+            return result;
+        } catch (GeneralSecurityException e) {
+            // AES-GCM ships with every Java 8 runtime
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A new file only its owner can read or write: rw------- where the file system has POSIX
+    // permissions, otherwise (Windows) an ACL that names the owner alone.
+    private static FileChannel createPrivate(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return FileChannel.open(file, EnumSet.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            AclFileAttributeView acl = Files.getFileAttributeView(file, AclFileAttributeView.class);
+            if (acl != null) {
+                acl.setAcl(Collections.singletonList(AclEntry.newBuilder().setType(AclEntryType.ALLOW)
+                        .setPrincipal(acl.getOwner()).setPermissions(EnumSet.allOf(AclEntryPermission.class)).build()));
+            }
+            return ch;
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // Strings are a length and UTF-8 bytes; length -1 is null.
+    private static void putString(DataOutputStream out, String s) throws IOException {
+        putBytes(out, s == null ? null : s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putBytes(DataOutputStream out, byte[] b) throws IOException {
+        if (b == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] b = getBytes(buf);
+        return b == null ? null : new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] getBytes(ByteBuffer buf) {
+        int n = buf.getInt();
+        if (n == -1) return null;
+        if (n < 0 || n > buf.remaining()) throw new IllegalArgumentException("bad length " + n);
+        byte[] b = new byte[n];
+        buf.get(b);
+        return b;
+    }
+
+    // Who the snapshot belongs to, and how to check their password
+    public static final class Owner {
+        private final int studentId;
+        private final String studentNumber;
+        private final String username;
+        private final String fullName;
+        private final PasswordVerifier verifier;
+
+        public Owner(int studentId, String studentNumber, String username, String fullName, PasswordVerifier verifier) {
+            this.studentId = studentId;
+            this.studentNumber = studentNumber;
+            this.username = username;
+            this.fullName = fullName;
+            this.verifier = verifier;
+        }
+
+        // The same identity after a password change.
+        public Owner withVerifier(PasswordVerifier newVerifier) {
+            return new Owner(studentId, studentNumber, username, fullName, newVerifier);
+        }
+
+        // Student number and username compare as the database does, ignoring case. The password
+        // is checked separately, with getVerifier().
+        public boolean isFor(String studentNumber, String username) {
+            return this.studentNumber.equalsIgnoreCase(studentNumber) && this.username.equalsIgnoreCase(username);
+        }
+
+        public int getStudentId() { return studentId; }
+        public String getStudentNumber() { return studentNumber; }
+        public String getUsername() { return username; }
+        public String getFullName() { return fullName; }
+        public PasswordVerifier getVerifier() { return verifier; }
+    }
+}
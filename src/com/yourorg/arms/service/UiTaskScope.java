@@ -0,0 +1,52 @@
+package com.yourorg.arms.service;
+
+import javax.swing.SwingUtilities;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Groups the background tasks started by one screen. Results and errors are delivered
+ * on the EDT, and cancelAll() drops everything still in flight when the user leaves.
+ */
+public class UiTaskScope {
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Consumer<Boolean> busyListener;
+
+    // busyListener is called on the EDT with true when the first task starts and false when the last one ends.
+    public UiTaskScope(Consumer<Boolean> busyListener) {
+        this.busyListener = busyListener;
+    }
+
+    public <T> CompletableFuture<T> run(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = DbExecutor.submit(work);
+        if (inFlight.isEmpty()) busyListener.accept(true);
+        inFlight.add(future);
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+            inFlight.remove(future);
+            if (inFlight.isEmpty()) busyListener.accept(false);
+            if (future.isCancelled()) return;
+            if (error == null) {
+                onSuccess.accept(value);
+            } else {
+                onError.accept(unwrap(error));
+            }
+        }));
+        return future;
+    }
+
+    public void cancelAll() {
+        for (CompletableFuture<?> f : inFlight) f.cancel(true);
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof CancellationException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+}
@@ -0,0 +1,206 @@
+package com.yourorg.arms.ui;
+
+import com.yourorg.arms.service.ProfileThumbnails;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pre-scaled images keyed by (source, width, height), evicted least-recently-used once the
+ * decoded pixels exceed a byte budget. Sources are classpath resources or any caller-chosen
+ * identity such as a content hash. Safe to use from any thread; prewarmResource() loads off the EDT.
+ */
+public class ImageCache {
+    public static final long DEFAULT_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    private final long budgetBytes;
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // Loads in progress, so a prewarm and a foreground request for the same image decode it once
+    private final Map<Key, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "arms-image-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ImageCache() {
+        this(DEFAULT_BUDGET_BYTES);
+    }
+
+    public ImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    // Classpath resource (falling back to a path relative to the working directory), or null if missing.
+    public ImageIcon getResourceIcon(String path, int w, int h) {
+        return toIcon(get(new Key("res:" + path, w, h), () -> readResource(path)));
+    }
+
+    // Cached image for sourceId at w x h, decoding with the given loader on a miss. loader may return null.
+    public ImageIcon getIcon(String sourceId, int w, int h, Callable<BufferedImage> decoder) {
+        return toIcon(get(new Key(sourceId, w, h), decoder));
+    }
+
+    // Cached image without loading anything on a miss.
+    public ImageIcon peek(String sourceId, int w, int h) {
+        return toIcon(lookup(new Key(sourceId, w, h)));
+    }
+
+    public void prewarmResource(String path, int w, int h) {
+        Key key = new Key("res:" + path, w, h);
+        loader.execute(() -> get(key, () -> readResource(path)));
+    }
+
+    public Stats getStats() {
+        synchronized (this) {
+            return new Stats(entries.size(), usedBytes, budgetBytes, hits, misses, evictions);
+        }
+    }
+
+    private BufferedImage get(Key key, Callable<BufferedImage> decoder) {
+        BufferedImage cached = lookup(key);
+        if (cached != null) return cached;
+
+        CompletableFuture<BufferedImage> mine = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> pending = loading.putIfAbsent(key, mine);
+        if (pending != null) {
+            try {
+                return pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+        try {
+            BufferedImage raced;
+            synchronized (this) {
+                raced = entries.get(key);
+            }
+            if (raced != null) {
+                mine.complete(raced);
+                return raced;
+            }
+            BufferedImage source = decoder.call();
+            BufferedImage scaled = source == null ? null : ProfileThumbnails.scale(source, key.width, key.height);
+            if (scaled != null) store(key, scaled);
+            mine.complete(scaled);
+            return scaled;
+        } catch (Exception e) {
+            e.printStackTrace();
+            mine.complete(null);
+            return null;
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    private synchronized BufferedImage lookup(Key key) {
+        BufferedImage img = entries.get(key);
+        if (img != null) hits++;
+        else misses++;
+        return img;
+    }
+
+    private synchronized void store(Key key, BufferedImage img) {
+        BufferedImage previous = entries.put(key, img);
+        if (previous != null) usedBytes -= sizeOf(previous);
+        usedBytes += sizeOf(img);
+        // Always keep the newest entry, even if it alone exceeds the budget
+        Iterator<BufferedImage> eldest = entries.values().iterator();
+        while (usedBytes > budgetBytes && entries.size() > 1) {
+            usedBytes -= sizeOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static long sizeOf(BufferedImage img) {
+        return 4L * img.getWidth() * img.getHeight();
+    }
+
+    private static ImageIcon toIcon(BufferedImage img) {
+        return img == null ? null : new ImageIcon(img);
+    }
+
+    private static BufferedImage readResource(String path) throws IOException {
+        URL res = ImageCache.class.getResource(path);
+        if (res != null) return ImageIO.read(res);
+        File f = new File("." + path);
+        return f.exists() ? ImageIO.read(f) : null;
+    }
+
+    private static final class Key {
+        final String source;
+        final int width;
+        final int height;
+
+        Key(String source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return width == k.width && height == k.height && source.equals(k.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, width, height);
+        }
+    }
+
+    public static class Stats {
+        private final int entries;
+        private final long usedBytes;
+        private final long budgetBytes;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        Stats(int entries, long usedBytes, long budgetBytes, long hits, long misses, long evictions) {
+            this.entries = entries;
+            this.usedBytes = usedBytes;
+            this.budgetBytes = budgetBytes;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public int getEntries() { return entries; }
+        public long getUsedBytes() { return usedBytes; }
+        public long getBudgetBytes() { return budgetBytes; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+
+        @Override
+        public String toString() {
+            return String.format("entries=%d bytes=%d/%d hits=%d misses=%d evictions=%d",
+                    entries, usedBytes, budgetBytes, hits, misses, evictions);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.yourorg.arms.ui;
+
+import com.yourorg.arms.dao.GradeDAO;
+import com.yourorg.arms.dao.GradeListQuery;
+import com.yourorg.arms.models.Grade;
+import com.yourorg.arms.service.UiTaskScope;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Teacher grade listing that loads rows a page at a time as the table asks for them.
+ * Pages are fetched with keyset pagination and only the most recently used ones are kept.
+ * Single-row writes are applied as deltas to the cached pages, so the table keeps its scroll
+ * position and selection. Sorting and filtering happen in the database through a GradeListQuery;
+ * a new query keeps the current rows on screen until its first page is ready, then swaps.
+ * All methods are called on the EDT.
+ */
+public class PagedGradesTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"ID", "Student", "Course Code", "Course Name", "Prelim", "Midterm", "Finals", "Remarks"};
+    private static final String LOADING = "Loading...";
+
+    private final GradeDAO gradeDAO;
+    private final UiTaskScope tasks;
+    private final int pageSize;
+    private final Map<Integer, List<Grade>> pages;
+    // Key of the last row before each page, so any known page can be fetched with a keyset seek
+    private final Map<Integer, GradeDAO.PageKey> pageStartKeys = new HashMap<>();
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private GradeListQuery query = GradeListQuery.DEFAULT;
+    // Query of the latest load, which replaces query once its first page is in
+    private GradeListQuery requested = GradeListQuery.DEFAULT;
+    private int rowCount;
+    // Bumped on every reload so answers for an older listing are dropped
+    private int generation;
+    // Bumped whenever rows shift, so page answers fetched for the old row positions are dropped
+    private int layout;
+    private boolean reloading;
+
+    public PagedGradesTableModel(GradeDAO gradeDAO, UiTaskScope tasks, int pageSize, int maxCachedPages) {
+        this.gradeDAO = gradeDAO;
+        this.tasks = tasks;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<Integer, List<Grade>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Grade>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    // Re-reads the row count and first page; other pages are fetched again as they are shown.
+    public void reload() {
+        reload(null, null);
+    }
+
+    // As reload(), running onLoaded on the EDT once the first page is displayed, or onFailed if
+    // it could not be read.
+    public void reload(Runnable onLoaded, Runnable onFailed) {
+        load(requested, onLoaded, onFailed);
+    }
+
+    // Lists the rows in the query's order and filter. The old listing stays up until the new one arrives.
+    public void setQuery(GradeListQuery query, Runnable onLoaded) {
+        load(query, onLoaded, null);
+    }
+
+    // The query of the listing on screen; positions passed to the apply methods must be for this one.
+    public GradeListQuery getQuery() {
+        return query;
+    }
+
+    // The query last passed to setQuery, which may still be loading.
+    public GradeListQuery getRequestedQuery() {
+        return requested;
+    }
+
+    private void load(GradeListQuery next, Runnable onLoaded, Runnable onFailed) {
+        int gen = ++generation;
+        requested = next;
+        // Deltas and page loads for the listing being replaced are pointless from here on
+        reloading = true;
+        pendingPages.clear();
+        tasks.run(() -> new FirstPage(gradeDAO.countGrades(next), gradeDAO.getGradePage(next, null, pageSize)), first -> {
+            if (gen != generation) return;
+            resetState();
+            query = next;
+            rowCount = first.totalRows;
+            storePage(0, first.rows);
+            fireTableDataChanged();
+            if (onLoaded != null) onLoaded.run();
+        }, ex -> {
+            if (gen == generation) reloading = false;
+            if (onFailed != null) onFailed.run();
+            ex.printStackTrace();
+        });
+    }
+
+    public void clear() {
+        resetState();
+        fireTableDataChanged();
+    }
+
+    // A row was inserted at the given position of the listing for that query (see
+    // GradeDAO.countRowsBefore); -1 means the row is filtered out.
+    public void applyInsert(GradeListQuery forQuery, Grade row, int index) {
+        if (reloading || forQuery != query || index < 0 || index > rowCount) return;
+        int first = index / pageSize;
+        Map<Integer, List<Grade>> old = snapshotPages();
+        pages.clear();
+        for (Map.Entry<Integer, List<Grade>> e : old.entrySet()) {
+            int page = e.getKey();
+            List<Grade> rows = e.getValue();
+            if (page < first) {
+                pages.put(page, rows);
+            } else if (page == first) {
+                List<Grade> shifted = new ArrayList<>(rows);
+                shifted.add(Math.min(index - page * pageSize, shifted.size()), row);
+                pages.put(page, trim(shifted));
+            } else if (old.containsKey(page - 1) && old.get(page - 1).size() == pageSize) {
+                // The previous page's last row moves down to the top of this one
+                List<Grade> before = old.get(page - 1);
+                List<Grade> shifted = new ArrayList<>(rows.size() + 1);
+                shifted.add(before.get(before.size() - 1));
+                shifted.addAll(rows);
+                pages.put(page, trim(shifted));
+            }
+        }
+        if (!pages.containsKey(first) && index == rowCount && index % pageSize == 0) {
+            pages.put(first, new ArrayList<>(Collections.singletonList(row)));
+        }
+        rowCount++;
+        rowsShifted(first);
+        fireTableRowsInserted(index, index);
+    }
+
+    // The row at the given position of the listing for that query was deleted.
+    public void applyDelete(GradeListQuery forQuery, Grade row, int index) {
+        if (reloading || forQuery != query || index < 0 || index >= rowCount) return;
+        int first = index / pageSize;
+        int lastRow = rowCount - 1;
+        Map<Integer, List<Grade>> old = snapshotPages();
+        pages.clear();
+        for (Map.Entry<Integer, List<Grade>> e : old.entrySet()) {
+            int page = e.getKey();
+            List<Grade> rows = new ArrayList<>(e.getValue());
+            if (page < first) {
+                pages.put(page, e.getValue());
+                continue;
+            }
+            // A page stored while the row count was stale can be empty or short; it is reloaded
+            boolean lastPage = (page + 1) * pageSize > lastRow;
+            if (rows.isEmpty() || (!lastPage && rows.size() < pageSize)) continue;
+            int offset = index - page * pageSize;
+            if (page == first) {
+                if (offset >= rows.size() || rows.get(offset).getId() != row.getId()) continue;
+                rows.remove(offset);
+            } else {
+                rows.remove(0);
+            }
+            // This page now ends with the next page's first row, unless it was the last page
+            List<Grade> next = old.get(page + 1);
+            if (!lastPage && (next == null || next.isEmpty())) continue;
+            if (!lastPage) rows.add(next.get(0));
+            pages.put(page, rows);
+        }
+        rowCount--;
+        rowsShifted(first);
+        fireTableRowsDeleted(index, index);
+    }
+
+    // A row's values changed and, under that query, its position moved from one index to the
+    // other (-1 where it is filtered out).
+    public void applyMove(GradeListQuery forQuery, Grade row, int fromIndex, int toIndex) {
+        applyDelete(forQuery, row, fromIndex);
+        applyInsert(forQuery, row, toIndex);
+    }
+
+    // A row's values changed in place; its position in the listing did not.
+    public void applyUpdate(Grade row) {
+        for (Map.Entry<Integer, List<Grade>> e : pages.entrySet()) {
+            List<Grade> rows = e.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId() == row.getId()) {
+                    rows.set(i, row);
+                    int index = e.getKey() * pageSize + i;
+                    fireTableRowsUpdated(index, index);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Copy in least-recently-used order, so rebuilding the cache keeps its eviction order
+    private Map<Integer, List<Grade>> snapshotPages() {
+        return new LinkedHashMap<>(pages);
+    }
+
+    private List<Grade> trim(List<Grade> rows) {
+        return rows.size() > pageSize ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+    }
+
+    // Page start keys after the first changed page are stale, as are page loads still in flight.
+    private void rowsShifted(int firstChangedPage) {
+        layout++;
+        pendingPages.clear();
+        pageStartKeys.keySet().removeIf(page -> page > firstChangedPage);
+        for (Map.Entry<Integer, List<Grade>> e : pages.entrySet()) {
+            List<Grade> rows = e.getValue();
+            if (e.getKey() >= firstChangedPage && rows.size() == pageSize) {
+                pageStartKeys.put(e.getKey() + 1, query.keyOf(rows.get(rows.size() - 1)));
+            }
+        }
+    }
+
+    // The student's grade for the course if it is on a loaded page, otherwise null.
+    public Grade findLoadedGrade(int studentId, String courseCode) {
+        for (List<Grade> rows : pages.values()) {
+            for (Grade g : rows) {
+                if (g.getStudentId() == studentId && courseCode.equals(g.getCourseCode())) return g;
+            }
+        }
+        return null;
+    }
+
+    // The row's index if it is on a loaded page, otherwise -1.
+    public int indexOfLoaded(Grade row) {
+        for (Map.Entry<Integer, List<Grade>> e : pages.entrySet()) {
+            List<Grade> rows = e.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId() == row.getId()) return e.getKey() * pageSize + i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int col) {
+        return COLUMNS[col];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int col) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int col) {
+        List<Grade> page = pages.get(row / pageSize);
+        if (page == null) {
+            requestPage(row / pageSize);
+            return col == 1 ? LOADING : null;
+        }
+        // A short page means rows were deleted since the count was taken
+        int index = row % pageSize;
+        if (index >= page.size()) return null;
+        Grade g = page.get(index);
+        switch (col) {
+            case 0: return g.getId();
+            case 1: return g.getStudentName();
+            case 2: return g.getCourseCode();
+            case 3: return g.getCourseName();
+            case 4: return g.getPrelim();
+            case 5: return g.getMidterm();
+            case 6: return g.getFinals();
+            default: return g.getRemarks();
+        }
+    }
+
+    private void requestPage(int page) {
+        if (reloading || !pendingPages.add(page)) return;
+        int gen = generation;
+        int lay = layout;
+        GradeListQuery q = query;
+        GradeDAO.PageKey knownStart = pageStartKeys.get(page);
+        tasks.run(() -> {
+            GradeDAO.PageKey start = knownStart;
+            if (start == null && page > 0) {
+                // Jumped past the pages seen so far: locate the boundary row directly
+                start = gradeDAO.getPageKeyAt(q, page * pageSize - 1);
+            }
+            return gradeDAO.getGradePage(q, start, pageSize);
+        }, rows -> {
+            if (gen != generation || lay != layout) return;
+            pendingPages.remove(page);
+            storePage(page, rows);
+            int first = page * pageSize;
+            int last = Math.min(rowCount, first + pageSize) - 1;
+            if (last >= first) fireTableRowsUpdated(first, last);
+        }, ex -> {
+            if (gen == generation && lay == layout) pendingPages.remove(page);
+            ex.printStackTrace();
+        });
+    }
+
+    private void storePage(int page, List<Grade> rows) {
+        pages.put(page, rows);
+        if (!rows.isEmpty()) pageStartKeys.put(page + 1, query.keyOf(rows.get(rows.size() - 1)));
+    }
+
+    private void resetState() {
+        generation++;
+        pages.clear();
+        pageStartKeys.clear();
+        pendingPages.clear();
+        rowCount = 0;
+        reloading = false;
+    }
+
+    private static class FirstPage {
+        final int totalRows;
+        final List<Grade> rows;
+
+        FirstPage(int totalRows, List<Grade> rows) {
+            this.totalRows = totalRows;
+            this.rows = rows;
+        }
+    }
+}
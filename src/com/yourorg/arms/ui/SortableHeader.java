@@ -0,0 +1,98 @@
+package com.yourorg.arms.ui;
+
+import javax.swing.JTable;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableCellRenderer;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Multi-column sort selection on a table header. A click sorts by that column alone (clicking
+ * it again reverses the direction); a shift-click adds the column as the next key or reverses
+ * it if already present. The header shows an arrow per sorted column, numbered when several
+ * are active. This only tracks the choice and reports it; the listener does the sorting,
+ * typically off the EDT. Install after styling the header, since it wraps the header renderer.
+ */
+public class SortableHeader {
+    private final JTableHeader header;
+    private final Consumer<List<SortColumn>> onChange;
+    private List<SortColumn> sort = Collections.emptyList();
+
+    private SortableHeader(JTable table, Consumer<List<SortColumn>> onChange) {
+        this.header = table.getTableHeader();
+        this.onChange = onChange;
+        TableCellRenderer base = header.getDefaultRenderer();
+        header.setDefaultRenderer((t, value, isSelected, hasFocus, row, col) ->
+                base.getTableCellRendererComponent(t, label(value, t.convertColumnIndexToModel(col)), isSelected, hasFocus, row, col));
+        header.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int view = header.columnAtPoint(e.getPoint());
+                if (view < 0 || header.getResizingColumn() != null) return;
+                clicked(table.convertColumnIndexToModel(view), e.isShiftDown());
+            }
+        });
+    }
+
+    public static SortableHeader install(JTable table, Consumer<List<SortColumn>> onChange) {
+        return new SortableHeader(table, onChange);
+    }
+
+    public List<SortColumn> getSort() {
+        return sort;
+    }
+
+    // Shows a sort chosen elsewhere (e.g. a sort button) without notifying the listener.
+    public void setSort(List<SortColumn> sort) {
+        this.sort = Collections.unmodifiableList(new ArrayList<>(sort));
+        header.repaint();
+    }
+
+    private void clicked(int column, boolean add) {
+        List<SortColumn> next = new ArrayList<>();
+        int existing = indexOf(column);
+        if (add) {
+            next.addAll(sort);
+            if (existing >= 0) next.set(existing, new SortColumn(column, !sort.get(existing).ascending));
+            else next.add(new SortColumn(column, true));
+        } else {
+            boolean ascending = existing != 0 || sort.size() != 1 || !sort.get(0).ascending;
+            next.add(new SortColumn(column, ascending));
+        }
+        setSort(next);
+        onChange.accept(sort);
+    }
+
+    private int indexOf(int column) {
+        for (int i = 0; i < sort.size(); i++) {
+            if (sort.get(i).column == column) return i;
+        }
+        return -1;
+    }
+
+    private String label(Object value, int column) {
+        String text = value == null ? "" : value.toString();
+        int i = indexOf(column);
+        if (i < 0) return text;
+        String arrow = sort.get(i).ascending ? " ▲" : " ▼";
+        return sort.size() > 1 ? text + arrow + (i + 1) : text + arrow;
+    }
+
+    // One sort key: a model column index and its direction
+    public static final class SortColumn {
+        private final int column;
+        private final boolean ascending;
+
+        public SortColumn(int column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public int getColumn() { return column; }
+        public boolean isAscending() { return ascending; }
+    }
+}
@@ -0,0 +1,75 @@
+package com.yourorg.arms.ui;
+
+import com.yourorg.arms.models.GradeColumns;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * The student's own grade table, read straight from a GradeColumns snapshot through a row
+ * order, so re-sorting only swaps the order array. Missing term grades show as empty cells.
+ * All methods are called on the EDT.
+ */
+public class StudentGradesTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Course Code", "Course Name", "Prelim", "Midterm", "Finals", "Remarks"};
+
+    private GradeColumns grades = new GradeColumns(0);
+    private int[] order = new int[0];
+
+    // Shows grades in load order.
+    public void setGrades(GradeColumns grades) {
+        setGrades(grades, grades.naturalOrder());
+    }
+
+    // Shows the given rows of grades in that order, e.g. from GradeViewEngine.view().
+    public void setGrades(GradeColumns grades, int[] order) {
+        this.grades = grades;
+        this.order = order;
+        fireTableDataChanged();
+    }
+
+    public GradeColumns getGrades() {
+        return grades;
+    }
+
+    public void clear() {
+        setGrades(new GradeColumns(0));
+    }
+
+    @Override
+    public int getRowCount() {
+        return order.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int col) {
+        return COLUMNS[col];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int col) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int col) {
+        int r = order[row];
+        switch (col) {
+            case 0: return grades.getCourseCode(r);
+            case 1: return grades.getCourseName(r);
+            case 2: return boxOrNull(grades.getPrelim(r));
+            case 3: return boxOrNull(grades.getMidterm(r));
+            case 4: return boxOrNull(grades.getFinals(r));
+            default: return grades.getRemarks(r);
+        }
+    }
+
+    // Only the cells the table actually paints are boxed
+    private static Double boxOrNull(double v) {
+        return v == v ? v : null;
+    }
+}
@@ -0,0 +1,156 @@
+package com.yourorg.arms.ui;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.Dimension;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Text field that lists matching items under it as the user types. The search function must
+ * be fast enough to run on every keystroke (e.g. an in-memory index). Choosing an item with
+ * the mouse or Enter makes it the selected item and fires the field's action listeners;
+ * editing the text afterwards clears the selection. Used on the EDT only.
+ */
+public class TypeAheadField<T> extends JTextField {
+    private final Function<String, List<T>> search;
+    private final Function<T, String> display;
+    private final int maxResults;
+    private final DefaultListModel<T> matches = new DefaultListModel<>();
+    private final JList<T> list = new JList<>(matches);
+    private final JPopupMenu popup = new JPopupMenu();
+    private T selected;
+    // Set while the text is changed from code, so it is not treated as typing
+    private boolean settingText;
+
+    public TypeAheadField(Function<String, List<T>> search, Function<T, String> display, int maxResults) {
+        this.search = search;
+        this.display = display;
+        this.maxResults = maxResults;
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false);
+        list.setCellRenderer((l, value, index, isSelected, hasFocus) -> {
+            JLabel label = new JLabel(display.apply(value));
+            label.setOpaque(true);
+            label.setFont(getFont());
+            label.setBackground(isSelected ? l.getSelectionBackground() : l.getBackground());
+            label.setForeground(isSelected ? l.getSelectionForeground() : l.getForeground());
+            return label;
+        });
+        JScrollPane scroll = new JScrollPane(list);
+        scroll.setBorder(null);
+        popup.add(scroll);
+        popup.setFocusable(false);
+
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { textEdited(); }
+            @Override public void removeUpdate(DocumentEvent e) { textEdited(); }
+            @Override public void changedUpdate(DocumentEvent e) { }
+        });
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) return;
+                int i = list.getSelectedIndex();
+                if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+                    list.setSelectedIndex(Math.min(i + 1, matches.size() - 1));
+                } else if (e.getKeyCode() == KeyEvent.VK_UP) {
+                    list.setSelectedIndex(Math.max(i - 1, 0));
+                } else if (e.getKeyCode() == KeyEvent.VK_ENTER && i >= 0) {
+                    choose(matches.get(i));
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    popup.setVisible(false);
+                } else {
+                    return;
+                }
+                list.ensureIndexIsVisible(list.getSelectedIndex());
+                e.consume();
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int i = list.locationToIndex(e.getPoint());
+                if (i >= 0) choose(matches.get(i));
+            }
+        });
+        addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    public T getSelectedItem() {
+        return selected;
+    }
+
+    // Selects the item without listing matches; null clears the field.
+    public void setSelectedItem(T item) {
+        selected = item;
+        setTextQuietly(item == null ? "" : display.apply(item));
+        popup.setVisible(false);
+    }
+
+    // Re-runs the search for the current text, e.g. after more items were indexed.
+    public void refreshMatches() {
+        if (isFocusOwner() && selected == null) showMatches();
+    }
+
+    private void textEdited() {
+        if (settingText) return;
+        selected = null;
+        // Document listeners must not touch the field directly
+        SwingUtilities.invokeLater(this::showMatches);
+    }
+
+    private void showMatches() {
+        String text = getText().trim();
+        matches.clear();
+        if (!text.isEmpty()) {
+            for (T item : search.apply(text)) {
+                matches.addElement(item);
+                if (matches.size() == maxResults) break;
+            }
+        }
+        if (matches.isEmpty() || !isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        list.setSelectedIndex(0);
+        list.setVisibleRowCount(Math.min(matches.size(), 10));
+        popup.setPopupSize(new Dimension(getWidth(), list.getPreferredScrollableViewportSize().height + 4));
+        if (popup.isVisible()) popup.pack();
+        else popup.show(this, 0, getHeight());
+    }
+
+    private void choose(T item) {
+        setSelectedItem(item);
+        postActionEvent();
+    }
+
+    private void setTextQuietly(String text) {
+        settingText = true;
+        try {
+            setText(text);
+        } finally {
+            settingText = false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- One grade row per student and course. gradeExists, updateGrade, deleteGrade and
+-- loadExistingGrade all look rows up by this pair.
+-- If this fails with a duplicate entry error, list the offenders with:
+--   SELECT student_id, course_code, COUNT(*) FROM grades GROUP BY student_id, course_code HAVING COUNT(*) > 1;
+CREATE UNIQUE INDEX ux_grades_student_course ON grades (student_id, course_code);
+
+-- Student grade list and recent grades, newest first
+CREATE INDEX ix_grades_student_created ON grades (student_id, created_at);
+
+-- Teacher listing and student selector are ordered by name
+CREATE INDEX ix_students_full_name ON students (full_name);
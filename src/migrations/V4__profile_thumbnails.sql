@@ -0,0 +1,5 @@
+-- Fixed-size PNG renderings of profile_pic, written on upload (see ProfileThumbnails).
+-- Login reads the 40px one and Settings the 120px one, so neither touches the original.
+ALTER TABLE students ADD COLUMN profile_thumb_small MEDIUMBLOB NULL;
+
+ALTER TABLE students ADD COLUMN profile_thumb_large MEDIUMBLOB NULL;
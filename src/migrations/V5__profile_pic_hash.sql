@@ -0,0 +1,4 @@
+-- SHA-256 of profile_pic, used as an ETag so clients can skip re-downloading an unchanged picture
+ALTER TABLE students ADD COLUMN profile_pic_sha256 CHAR(64) NULL;
+
+UPDATE students SET profile_pic_sha256 = SHA2(profile_pic, 256) WHERE profile_pic IS NOT NULL AND profile_pic_sha256 IS NULL;
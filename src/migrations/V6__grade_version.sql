@@ -0,0 +1,3 @@
+-- Row version for optimistic concurrency: every write stores a new value, and GradeDAO.saveGrade
+-- only overwrites a row whose version is still the one the teacher's form was loaded with.
+ALTER TABLE grades ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
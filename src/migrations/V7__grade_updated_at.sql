@@ -0,0 +1,4 @@
+-- Last change time of each grade row. With the row count it forms the watermark a student's
+-- local snapshot is checked against (GradeDAO.getGradeWatermark); the index answers that check.
+ALTER TABLE grades ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX ix_grades_student_updated ON grades (student_id, updated_at);
@@ -0,0 +1,3 @@
+-- Per-course watermark (row count and last change) the teacher course statistics are cached
+-- against (GradeDAO.getCourseWatermarks); the index lets that check skip the table rows.
+CREATE INDEX ix_grades_course_updated ON grades (course_code, updated_at);
@@ -0,0 +1,4 @@
+-- The teacher listing's default order is student name, student id, then course code. This index
+-- hands the students over in that order, and each student's grades follow in course order from
+-- ux_grades_student_course, so a page is read by walking the two indexes.
+CREATE INDEX ix_students_full_name_id ON students (full_name, id);